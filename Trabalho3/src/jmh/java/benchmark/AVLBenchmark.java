@@ -0,0 +1,175 @@
+package benchmark;
+
+import arvbin.AVL;
+import iterador.Iterador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operacoes pontuais da AVL sobre uma arvore ja construida com n chaves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AVLBenchmark {
+
+    private static final int SONDAGENS = 1 << 16;
+    private static final int JANELA = 100;
+    private static final int LOTE = 1024;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"SEQUENCIAL", "ALEATORIA", "ZIPF"})
+    public Distribuicao distribuicao;
+
+    private AVL<Integer, Integer> arvore;
+    private Integer[] sondas;
+    private Integer[][] lotes;
+    private int proxima;
+    private int proximoLote;
+
+    @Setup
+    public void prepara() {
+        arvore = new AVL<>();
+        for (int chave : distribuicao.ordemInsercao(n))
+            arvore.inserir(chave);
+
+        // as sondagens ja ficam em caixa para nao medir o autoboxing
+        int[] s = distribuicao.sondagens(n, SONDAGENS);
+        sondas = new Integer[s.length];
+        for (int i = 0; i < s.length; i++)
+            sondas[i] = s[i];
+
+        lotes = new Integer[SONDAGENS / LOTE][];
+        for (int i = 0; i < lotes.length; i++)
+            lotes[i] = Arrays.copyOfRange(sondas, i * LOTE, (i + 1) * LOTE);
+    }
+
+    private Integer proximaSonda() {
+        Integer s = sondas[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        return s;
+    }
+
+    @Benchmark
+    public Integer buscar() {
+        return arvore.buscar(proximaSonda());
+    }
+
+    /**
+     * LOTE buscas com uma descida conjunta; comparar com buscarUmaAUma.
+     */
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public Object buscarLote() {
+        Integer[] lote = lotes[proximoLote];
+        proximoLote = (proximoLote + 1) % lotes.length;
+        return arvore.buscarLote(lote);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void buscarUmaAUma(Blackhole bh) {
+        Integer[] lote = lotes[proximoLote];
+        proximoLote = (proximoLote + 1) % lotes.length;
+        for (Integer chave : lote)
+            bh.consume(arvore.buscar(chave));
+    }
+
+    /**
+     * Insere uma chave impar (ausente da arvore) e a remove em seguida,
+     * mantendo o tamanho da arvore constante entre as invocacoes.
+     */
+    @Benchmark
+    public void inserirERemover() {
+        Integer chave = proximaSonda() + 1;
+        arvore.inserir(chave);
+        arvore.removerChave(chave);
+    }
+
+    @Benchmark
+    public Object menorCaminho() {
+        return arvore.menorCaminho(proximaSonda(), proximaSonda());
+    }
+
+    @Benchmark
+    public String codigo() {
+        return arvore.codigo(proximaSonda());
+    }
+
+    @Benchmark
+    public long codigoCompactado() {
+        return arvore.codigoCompactado(proximaSonda());
+    }
+
+    /**
+     * Janela de 100 chaves a partir da sonda: deve custar O(log n + 100),
+     * independente de n.
+     */
+    @Benchmark
+    public void intervalo(Blackhole bh) {
+        int inicio = proximaSonda();
+        arvore.intervalo(inicio, inicio + 2 * JANELA - 1, bh::consume);
+    }
+
+    @Benchmark
+    public Integer teto() {
+        // chave impar: sempre ausente, obriga a descer ate uma folha
+        return arvore.teto(proximaSonda() + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void emOrdem(Blackhole bh) {
+        arvore.emOrdem(bh::consume);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void iterador(Blackhole bh) {
+        for (Iterador<Integer> it = arvore.iterador(); it.temProximo(); )
+            bh.consume(it.proximo());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object maxSoma() {
+        return arvore.maxSoma();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object maxSomaParalelo() {
+        return arvore.maxSomaParalelo();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long somaStreamParalela() {
+        return arvore.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long somaReduzir() {
+        return arvore.reduzir(0L, Integer::longValue, Long::sum);
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import arvbin.AVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de construir (chave a chave ou em lote) e de esvaziar uma AVL com n chaves.
+ * Cada iteracao eh uma unica execucao (SingleShotTime), pois o estado muda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AVLConstrucaoBenchmark {
+
+    // micro-lotes das cargas incrementais
+    private static final int LOTE = 100_000;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"SEQUENCIAL", "ALEATORIA", "ZIPF"})
+    public Distribuicao distribuicao;
+
+    private Integer[] chaves;
+    private AVL<Integer, Integer> cheia;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        int[] c = distribuicao.ordemInsercao(n);
+        chaves = new Integer[c.length];
+        for (int i = 0; i < c.length; i++)
+            chaves[i] = c[i];
+    }
+
+    @Setup(Level.Iteration)
+    public void preencher() {
+        cheia = new AVL<>();
+        for (Integer chave : chaves)
+            cheia.inserir(chave);
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> inserir() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        for (Integer chave : chaves)
+            arvore.inserir(chave);
+        return arvore;
+    }
+
+    /**
+     * Carga em lote: ordena uma copia (em paralelo) e monta a arvore em O(N).
+     */
+    @Benchmark
+    public AVL<Integer, Integer> deSequencia() {
+        return AVL.deSequencia(chaves, Integer::compare, (o) -> o, true);
+    }
+
+    /**
+     * Mesma carga de inserir, mas em micro-lotes de LOTE chaves unidos por split/join.
+     */
+    @Benchmark
+    public AVL<Integer, Integer> inserirTodos() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        List<Integer> todas = Arrays.asList(chaves);
+        for (int i = 0; i < chaves.length; i += LOTE)
+            arvore.inserirTodos(todas.subList(i, Math.min(i + LOTE, chaves.length)));
+        return arvore;
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> removerTodos() {
+        List<Integer> todas = Arrays.asList(chaves);
+        for (int i = 0; i < chaves.length; i += LOTE)
+            cheia.removerTodos(todas.subList(i, Math.min(i + LOTE, chaves.length)));
+        return cheia;
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> removerChave() {
+        for (Integer chave : chaves)
+            cheia.removerChave(chave);
+        return cheia;
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import arvbin.IABB;
+import arvbin.MaiorSoma;
+import arvbin.Visitante;
+import lista.LSE;
+
+/**
+ * Linha de base dos benchmarks concorrentes: uma arvore qualquer atras de
+ * uma trava global, como os servicos fazem hoje.
+ */
+class AVLSincronizada<T, K> implements IABB<T, K> {
+    private final IABB<T, K> arvore;
+
+    AVLSincronizada(IABB<T, K> arvore) {
+        this.arvore = arvore;
+    }
+
+    @Override
+    public synchronized void inserir(T e) {
+        arvore.inserir(e);
+    }
+
+    @Override
+    public synchronized void remover(T e) {
+        arvore.remover(e);
+    }
+
+    @Override
+    public synchronized void removerChave(K key) {
+        arvore.removerChave(key);
+    }
+
+    @Override
+    public synchronized T buscar(K key) {
+        return arvore.buscar(key);
+    }
+
+    @Override
+    public synchronized boolean contem(T e) {
+        return arvore.contem(e);
+    }
+
+    @Override
+    public synchronized boolean contemChave(K key) {
+        return arvore.contemChave(key);
+    }
+
+    @Override
+    public synchronized T maior() {
+        return arvore.maior();
+    }
+
+    @Override
+    public synchronized T menor() {
+        return arvore.menor();
+    }
+
+    @Override
+    public synchronized int quantidade() {
+        return arvore.quantidade();
+    }
+
+    @Override
+    public synchronized boolean estaVazia() {
+        return arvore.estaVazia();
+    }
+
+    @Override
+    public synchronized void removeTodos() {
+        arvore.removeTodos();
+    }
+
+    @Override
+    public synchronized void emOrdem(Visitante<T> visitante) {
+        arvore.emOrdem(visitante);
+    }
+
+    @Override
+    public synchronized void emOrdemInvertida(Visitante<T> visitante) {
+        arvore.emOrdemInvertida(visitante);
+    }
+
+    @Override
+    public synchronized void nivel(int n, Visitante<T> visitante) {
+        arvore.nivel(n, visitante);
+    }
+
+    @Override
+    public synchronized LSE<T> menorCaminho(T a, T b) {
+        return arvore.menorCaminho(a, b);
+    }
+
+    @Override
+    public synchronized String codigo(T a) {
+        return arvore.codigo(a);
+    }
+
+    @Override
+    public synchronized MaiorSoma maxSoma() {
+        return arvore.maxSoma();
+    }
+
+    @Override
+    public synchronized T selecionar(int k) {
+        return arvore.selecionar(k);
+    }
+
+    @Override
+    public synchronized int posto(K key) {
+        return arvore.posto(key);
+    }
+
+    @Override
+    public synchronized int contarIntervalo(K lo, K hi) {
+        return arvore.contarIntervalo(lo, hi);
+    }
+}
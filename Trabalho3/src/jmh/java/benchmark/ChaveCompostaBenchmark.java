@@ -0,0 +1,77 @@
+package benchmark;
+
+import arvbin.AVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca numa AVL cuja chave e montada a partir do item (uma String composta),
+ * com e sem a chave guardada nos nos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ChaveCompostaBenchmark {
+
+    private static final int SONDAGENS = 1 << 16;
+
+    /**
+     * Item com uma chave composta de dois campos.
+     */
+    public static final class Registro {
+        final int grupo;
+        final int id;
+
+        Registro(int grupo, int id) {
+            this.grupo = grupo;
+            this.id = id;
+        }
+
+        String chave() {
+            return grupo + ":" + id;
+        }
+    }
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    @Param({"false", "true"})
+    public boolean guardarChaves;
+
+    private AVL<Registro, String> arvore;
+    private String[] sondas;
+    private int proxima;
+
+    @Setup
+    public void prepara() {
+        arvore = new AVL<>(String::compareTo, Registro::chave, guardarChaves);
+        for (int chave : Distribuicao.ALEATORIA.ordemInsercao(n))
+            arvore.inserir(new Registro(chave % 97, chave));
+
+        int[] s = Distribuicao.ALEATORIA.sondagens(n, SONDAGENS);
+        sondas = new String[s.length];
+        for (int i = 0; i < s.length; i++)
+            sondas[i] = new Registro(s[i] % 97, s[i]).chave();
+    }
+
+    @Benchmark
+    public Registro buscar() {
+        String s = sondas[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        return arvore.buscar(s);
+    }
+}
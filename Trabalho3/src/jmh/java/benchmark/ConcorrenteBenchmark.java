@@ -0,0 +1,86 @@
+package benchmark;
+
+import arvbin.AVL;
+import arvbin.AVLConcorrente;
+import arvbin.AVLOtimista;
+import arvbin.IABB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trafego misto (buscas, insercoes e remocoes) com varias threads sobre a
+ * mesma arvore. Varie o numero de threads com -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Threads(Threads.MAX)
+public class ConcorrenteBenchmark {
+
+    public enum Implementacao { AVL_COM_TRAVA, COPIA_NA_ESCRITA, OTIMISTA }
+
+    @Param({"AVL_COM_TRAVA", "COPIA_NA_ESCRITA", "OTIMISTA"})
+    public Implementacao implementacao;
+
+    @Param({"1000000"})
+    public int n;
+
+    /** Percentual de operacoes que sao buscas; o resto divide-se entre inserir e remover. */
+    @Param({"95", "50"})
+    public int percentualLeitura;
+
+    private IABB<Integer, Integer> arvore;
+
+    @State(Scope.Thread)
+    public static class Gerador {
+        private final SplittableRandom rnd = new SplittableRandom();
+    }
+
+    @Setup
+    public void prepara() {
+        switch (implementacao) {
+            case AVL_COM_TRAVA:
+                arvore = new AVLSincronizada<>(new AVL<>());
+                break;
+            case COPIA_NA_ESCRITA:
+                arvore = new AVLConcorrente<>();
+                break;
+            default:
+                arvore = new AVLOtimista<>();
+        }
+
+        for (int chave : Distribuicao.ALEATORIA.ordemInsercao(n))
+            arvore.inserir(chave);
+    }
+
+    @Benchmark
+    public Object misto(Gerador g) {
+        Integer chave = g.rnd.nextInt(2 * n);
+        int op = g.rnd.nextInt(100);
+
+        if (op < percentualLeitura)
+            return arvore.buscar(chave);
+
+        if ((op & 1) == 0)
+            arvore.inserir(chave);
+        else
+            arvore.removerChave(chave);
+        return null;
+    }
+}
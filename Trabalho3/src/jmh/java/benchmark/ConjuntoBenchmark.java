@@ -0,0 +1,81 @@
+package benchmark;
+
+import arvbin.AVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniao, intersecao e diferenca entre uma AVL com n chaves e outra com
+ * n * percentualOutra / 100 chaves sorteadas no mesmo intervalo.
+ * As operacoes consomem as arvores, que sao refeitas a cada iteracao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConjuntoBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"1", "100"})
+    public int percentualOutra;
+
+    private Integer[] chaves;
+    private Integer[] chavesOutra;
+    private AVL<Integer, Integer> arvore;
+    private AVL<Integer, Integer> outra;
+
+    @Setup(Level.Trial)
+    public void prepara() {
+        Random aleatorio = new Random(42);
+        chaves = ordenadas(aleatorio, n);
+        chavesOutra = ordenadas(aleatorio, (int) ((long) n * percentualOutra / 100));
+    }
+
+    /**
+     * m chaves distintas em [0, 2n), em ordem crescente.
+     */
+    private Integer[] ordenadas(Random aleatorio, int m) {
+        return aleatorio.ints(0, 2 * n).distinct().limit(m).sorted().boxed().toArray(Integer[]::new);
+    }
+
+    @Setup(Level.Iteration)
+    public void preencher() {
+        arvore = AVL.deSequenciaOrdenada(chaves);
+        outra = AVL.deSequenciaOrdenada(chavesOutra);
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> uniao() {
+        arvore.uniao(outra);
+        return arvore;
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> intersecao() {
+        arvore.intersecao(outra);
+        return arvore;
+    }
+
+    @Benchmark
+    public AVL<Integer, Integer> diferenca() {
+        arvore.diferenca(outra);
+        return arvore;
+    }
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribuicoes de chaves usadas pelos benchmarks.
+ *
+ * A arvore sempre contem as chaves pares 0, 2, ..., 2(n-1); a distribuicao
+ * define a ordem de insercao e a sequencia de consultas (sondagens).
+ */
+public enum Distribuicao {
+    SEQUENCIAL,
+    ALEATORIA,
+    ZIPF;
+
+    private static final long SEMENTE = 42L;
+
+    /**
+     * Retorna as n chaves da arvore na ordem em que devem ser inseridas.
+     * Para ZIPF a ordem de insercao eh aleatoria (o desvio so afeta as consultas).
+     */
+    public int[] ordemInsercao(int n) {
+        int[] chaves = new int[n];
+        for (int i = 0; i < n; i++)
+            chaves[i] = 2 * i;
+
+        if (this != SEQUENCIAL)
+            embaralha(chaves, new SplittableRandom(SEMENTE));
+
+        return chaves;
+    }
+
+    /**
+     * Retorna m consultas sobre as n chaves da arvore (todas existentes).
+     */
+    public int[] sondagens(int n, int m) {
+        int[] sondas = new int[m];
+        SplittableRandom rnd = new SplittableRandom(SEMENTE + 1);
+
+        switch (this) {
+            case SEQUENCIAL:
+                for (int i = 0; i < m; i++)
+                    sondas[i] = 2 * (i % n);
+                break;
+            case ALEATORIA:
+                for (int i = 0; i < m; i++)
+                    sondas[i] = 2 * rnd.nextInt(n);
+                break;
+            case ZIPF:
+                // as chaves "quentes" ficam espalhadas pela arvore
+                int[] permutacao = new int[n];
+                for (int i = 0; i < n; i++)
+                    permutacao[i] = i;
+                embaralha(permutacao, rnd);
+
+                Zipf zipf = new Zipf(n, 1.0);
+                for (int i = 0; i < m; i++)
+                    sondas[i] = 2 * permutacao[zipf.proximo(rnd)];
+                break;
+        }
+
+        return sondas;
+    }
+
+    private static void embaralha(int[] v, SplittableRandom rnd) {
+        for (int i = v.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int aux = v[i];
+            v[i] = v[j];
+            v[j] = aux;
+        }
+    }
+
+    /**
+     * Amostrador de Zipf por inversao da distribuicao acumulada
+     * (aproximada pela integral, sem tabela de tamanho n).
+     */
+    private static final class Zipf {
+        private final int n;
+        private final double s;
+        private final double hn;
+
+        Zipf(int n, double s) {
+            this.n = n;
+            this.s = s;
+            this.hn = h(n + 0.5) - h(0.5);
+        }
+
+        int proximo(SplittableRandom rnd) {
+            double u = h(0.5) + rnd.nextDouble() * hn;
+            int k = (int) Math.round(hInversa(u));
+            return Math.min(Math.max(k, 1), n) - 1;
+        }
+
+        private double h(double x) {
+            return s == 1.0 ? Math.log(x) : Math.pow(x, 1 - s) / (1 - s);
+        }
+
+        private double hInversa(double y) {
+            return s == 1.0 ? Math.exp(y) : Math.pow(y * (1 - s), 1 / (1 - s));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package benchmark;
+
+import arvbin.FabricaABB;
+import arvbin.IABB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trafego misto de uma thread sobre cada implementacao de IABB da
+ * FabricaABB, para calibrar a escolha por proporcao de leituras.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ImplementacoesBenchmark {
+
+    @Param({"AVL", "RUBRO_NEGRA", "BALANCEADA_POR_PESO"})
+    public FabricaABB.Tipo tipo;
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    /** Percentual de operacoes que sao buscas; o resto divide-se entre inserir e remover. */
+    @Param({"10", "50", "90"})
+    public int percentualLeitura;
+
+    @Param({"SEQUENCIAL", "ALEATORIA"})
+    public Distribuicao distribuicao;
+
+    private IABB<Integer, Integer> arvore;
+    private final SplittableRandom rnd = new SplittableRandom(42);
+
+    @Setup
+    public void prepara() {
+        arvore = FabricaABB.criar(tipo);
+        for (int chave : distribuicao.ordemInsercao(n))
+            arvore.inserir(chave);
+    }
+
+    @Benchmark
+    public Object misto() {
+        Integer chave = rnd.nextInt(2 * n);
+        int op = rnd.nextInt(100);
+
+        if (op < percentualLeitura)
+            return arvore.buscar(chave);
+
+        if ((op & 1) == 0)
+            arvore.inserir(chave);
+        else
+            arvore.removerChave(chave);
+        return null;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import arvbin.IntAVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesmas operacoes pontuais do AVLBenchmark sobre a IntAVL, para comparar
+ * vazao e alocacao com a AVL generica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IntAVLBenchmark {
+
+    private static final int SONDAGENS = 1 << 16;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"SEQUENCIAL", "ALEATORIA", "ZIPF"})
+    public Distribuicao distribuicao;
+
+    private IntAVL arvore;
+    private int[] sondas;
+    private int proxima;
+
+    @Setup
+    public void prepara() {
+        arvore = new IntAVL();
+        for (int chave : distribuicao.ordemInsercao(n))
+            arvore.inserir(chave);
+
+        sondas = distribuicao.sondagens(n, SONDAGENS);
+    }
+
+    private int proximaSonda() {
+        int s = sondas[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        return s;
+    }
+
+    @Benchmark
+    public boolean contemChave() {
+        return arvore.contemChave(proximaSonda());
+    }
+
+    @Benchmark
+    public void inserirERemover() {
+        int chave = proximaSonda() + 1;
+        arvore.inserir(chave);
+        arvore.removerChave(chave);
+    }
+
+    @Benchmark
+    public Object menorCaminho() {
+        return arvore.menorCaminho(proximaSonda(), proximaSonda());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object maxSoma() {
+        return arvore.maxSoma();
+    }
+}
@@ -0,0 +1,131 @@
+package benchmark;
+
+import iterador.Iterador;
+import lista.ILista;
+import lista.LSE;
+import lista.ListaDesenrolada;
+import lista.ListaIndexada;
+import lista.ListaVetor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operacoes das implementacoes de ILista. Os tamanhos padrao vao ate 1e5
+ * porque getItem aleatorio e linear na LSE e na ListaDesenrolada; use
+ * -p n=1000000,10000000 para ir alem.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LSEBenchmark {
+
+    private static final int SONDAGENS = 1 << 16;
+
+    @Param({"1000", "10000", "100000"})
+    public int n;
+
+    @Param({"SEQUENCIAL", "ALEATORIA", "ZIPF"})
+    public Distribuicao distribuicao;
+
+    @Param({"LSE", "VETOR", "DESENROLADA", "INDEXADA"})
+    public String tipo;
+
+    private Integer[] itens;
+    private int[] posicoes;
+    private ILista<Integer> lista;
+    private int proxima;
+
+    @Setup
+    public void prepara() {
+        itens = new Integer[n];
+        for (int i = 0; i < n; i++)
+            itens[i] = i;
+
+        lista = novaLista();
+        for (int i = n - 1; i >= 0; i--)
+            lista.inserirInicio(itens[i]);
+
+        // as chaves da distribuicao sao 2*i, com i em [0, n)
+        posicoes = distribuicao.sondagens(n, SONDAGENS);
+        for (int i = 0; i < posicoes.length; i++)
+            posicoes[i] /= 2;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ILista<Integer> inserirFim() {
+        ILista<Integer> l = novaLista();
+        for (Integer item : itens)
+            l.inserirFim(item);
+        return l;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Integer getItem() {
+        int p = posicoes[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        return lista.getItem(p);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean contem() {
+        int p = posicoes[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        return lista.contem(itens[p]);
+    }
+
+    /**
+     * Uso como fila de trabalho: tira um item pelo valor e o devolve no fim.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Integer removerEReinserir() {
+        int p = posicoes[proxima];
+        proxima = (proxima + 1) & (SONDAGENS - 1);
+        Integer item = lista.remover(itens[p]);
+        lista.inserirFim(item);
+        return item;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long percorrer() {
+        long soma = 0;
+        Iterador<Integer> it = lista.iterador();
+        while (it.temProximo())
+            soma += it.proximo();
+        return soma;
+    }
+
+    private ILista<Integer> novaLista() {
+        switch (tipo) {
+            case "VETOR":
+                return new ListaVetor<>();
+            case "DESENROLADA":
+                return new ListaDesenrolada<>();
+            case "INDEXADA":
+                return new ListaIndexada<>();
+            default:
+                return new LSE<>();
+        }
+    }
+}
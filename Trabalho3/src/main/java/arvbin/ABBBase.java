@@ -0,0 +1,446 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Base das ABBs encadeadas que guardam o tamanho de cada subárvore
+ * (RubroNegra e BalanceadaPorPeso): implementa as consultas, que não
+ * dependem do critério de balanceamento, com a mesma semântica da AVL.
+ * As subclasses implementam inserir e removerChave e mantêm
+ * No.tamanho correto, o que as rotações daqui já fazem.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+abstract class ABBBase<T, K> implements IABB<T, K> {
+    protected No<T> raiz;
+    protected final Comparator<K> comparador;
+    protected final Function<T, K> recuperaChave;
+
+    @SuppressWarnings("unchecked")
+    ABBBase() {
+        this.comparador = (o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); };
+        this.recuperaChave = (o) -> (K) o;
+    }
+
+    ABBBase(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+    }
+
+    static final class No<T> {
+        T item;
+        No<T> esq;
+        No<T> dir;
+        // quantidade de nós da subárvore
+        int tamanho = 1;
+        // usado só pela RubroNegra (nó novo é vermelho)
+        boolean vermelho = true;
+
+        No(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * O que {@link #menorCaminho(Object, Object, Object, Navegacao)} precisa
+     * saber dos nós de uma árvore de busca, qualquer que seja a representação
+     * deles (objetos, posições em vetores, endereços fora do heap).
+     *
+     * @param <N> Tipo que identifica um nó; null é a subárvore vazia
+     */
+    interface Navegacao<N, T, K> {
+        /**
+         * @return Negativo se key fica à esquerda do nó, zero se é a chave dele e positivo se fica à direita
+         */
+        int comparar(K key, N no);
+
+        /**
+         * @return Filho esquerdo (c negativo) ou direito (c positivo) do nó, ou null
+         */
+        N filho(N no, int c);
+
+        /**
+         * @return Item do nó; null se o nó só faz o roteamento e fica fora do caminho
+         */
+        T item(N no);
+    }
+
+    private final Navegacao<No<T>, T, K> navegacao = new Navegacao<>() {
+        @Override
+        public int comparar(K key, No<T> no) {
+            return comparador.compare(key, recuperaChave.apply(no.item));
+        }
+
+        @Override
+        public No<T> filho(No<T> no, int c) {
+            return c < 0 ? no.esq : no.dir;
+        }
+
+        @Override
+        public T item(No<T> no) {
+            return no.item;
+        }
+    };
+
+    @Override
+    public void remover(T e) {
+        removerChave(recuperaChave.apply(e));
+    }
+
+    @Override
+    public T buscar(K key) {
+        No<T> r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+            if (c == 0)
+                return r.item;
+            r = c < 0 ? r.esq : r.dir;
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return buscar(recuperaChave.apply(e)) != null;
+    }
+
+    @Override
+    public boolean contemChave(K key) {
+        return buscar(key) != null;
+    }
+
+    @Override
+    public T maior() {
+        No<T> r = raiz;
+        if (r == null)
+            return null;
+
+        while (r.dir != null)
+            r = r.dir;
+
+        return r.item;
+    }
+
+    @Override
+    public T menor() {
+        No<T> r = raiz;
+        if (r == null)
+            return null;
+
+        while (r.esq != null)
+            r = r.esq;
+
+        return r.item;
+    }
+
+    @Override
+    public int quantidade() {
+        return tamanho(raiz);
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    @Override
+    public void removeTodos() {
+        raiz = null;
+    }
+
+    @Override
+    public void emOrdem(Visitante<T> visitante) {
+        emOrdem(raiz, visitante);
+    }
+
+    @Override
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        emOrdemInvertida(raiz, visitante);
+    }
+
+    /**
+     * As alturas não são guardadas nos nós: em vez de calcular a da árvore,
+     * o percurso desce até o nível n e, se não achar nenhum nó nele, o nível
+     * não existe. Custa O(nós acima do nível n), no máximo O(N).
+     */
+    @Override
+    public void nivel(int n, Visitante<T> visitante) {
+        if (n < 0 || !visitarNivel(raiz, n, visitante))
+            System.out.println("Nivel nao existe");
+    }
+
+    @Override
+    public LSE<T> menorCaminho(T a, T b) {
+        return menorCaminho(raiz, recuperaChave.apply(a), recuperaChave.apply(b), navegacao);
+    }
+
+    @Override
+    public String codigo(T a) {
+        K key = recuperaChave.apply(a);
+        StringBuilder codigo = new StringBuilder();
+        No<T> r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+            if (c == 0)
+                return codigo.toString();
+
+            if (c < 0) {
+                codigo.append('0');
+                r = r.esq;
+            }
+            else {
+                codigo.append('1');
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public MaiorSoma maxSoma() {
+        return maxSoma(raiz);
+    }
+
+    @Override
+    public T selecionar(int k) {
+        if (k < 0 || k >= tamanho(raiz))
+            return null;
+
+        No<T> r = raiz;
+        while (r != null) {
+            int te = tamanho(r.esq);
+
+            if (k < te)
+                r = r.esq;
+            else if (k == te)
+                return r.item;
+            else {
+                k -= te + 1;
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public int posto(K key) {
+        return contarMenores(key, false);
+    }
+
+    @Override
+    public int contarIntervalo(K lo, K hi) {
+        if (comparador.compare(lo, hi) > 0)
+            return 0;
+
+        return contarMenores(hi, true) - contarMenores(lo, false);
+    }
+
+    /**
+     * Quantidade de itens com chave menor que key (ou menor ou igual, se inclusivo).
+     */
+    private int contarMenores(K key, boolean inclusivo) {
+        int qtd = 0;
+        No<T> r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+            if (c < 0 || (c == 0 && !inclusivo))
+                r = r.esq;
+            else {
+                qtd += tamanho(r.esq) + 1;
+                r = r.dir;
+            }
+        }
+
+        return qtd;
+    }
+
+    /**
+     * Menor caminho de a até b, dadas as suas chaves, na árvore de raiz raiz:
+     * uma descida até o LCA e, dele, uma até cada chave; se alguma não estiver
+     * na árvore a lista volta vazia. O trecho do LCA até b é inserido na volta
+     * da recursão, então não há lista nem vetor auxiliar.
+     */
+    static <N, T, K> LSE<T> menorCaminho(N raiz, K keyA, K keyB, Navegacao<N, T, K> arvore) {
+        LSE<T> resultado = new LSE<>();
+
+        // desce enquanto a e b estiverem do mesmo lado: para no LCA
+        N lca = raiz;
+        int ca = 0;
+        int cb = 0;
+        while (lca != null) {
+            ca = arvore.comparar(keyA, lca);
+            cb = arvore.comparar(keyB, lca);
+
+            if (ca < 0 && cb < 0 || ca > 0 && cb > 0)
+                lca = arvore.filho(lca, ca);
+            else
+                break;
+        }
+
+        // a lista é montada sempre inserindo no início: primeiro o trecho
+        // abaixo do LCA até b, depois o LCA e por fim o trecho até a
+        if (lca == null || cb != 0 && !inserirDescida(arvore.filho(lca, cb), keyB, resultado, arvore))
+            return resultado;
+        inserirItem(resultado, arvore.item(lca));
+
+        for (N r = lca; ca != 0; ) {
+            r = arvore.filho(r, ca);
+            if (r == null) {
+                resultado.removerTodos();
+                break;
+            }
+            inserirItem(resultado, arvore.item(r));
+            ca = arvore.comparar(keyA, r);
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Insere no início de resultado os itens de r até o nó de key, com r em
+     * primeiro: a recursão desce até key e os itens entram na volta.
+     *
+     * @return Falso (e nada é inserido) se key não está na subárvore r
+     */
+    private static <N, T, K> boolean inserirDescida(N r, K key, LSE<T> resultado, Navegacao<N, T, K> arvore) {
+        if (r == null)
+            return false;
+
+        int c = arvore.comparar(key, r);
+        if (c != 0 && !inserirDescida(arvore.filho(r, c), key, resultado, arvore))
+            return false;
+
+        inserirItem(resultado, arvore.item(r));
+
+        return true;
+    }
+
+    private static <T> void inserirItem(LSE<T> resultado, T item) {
+        if (item != null)
+            resultado.inserirInicio(item);
+    }
+
+    static int tamanho(No<?> r) {
+        return r == null ? 0 : r.tamanho;
+    }
+
+    /**
+     * Rotação à direita: o filho esquerdo de r sobe.
+     */
+    static <T> No<T> rotateLL(No<T> r) {
+        No<T> no = r.esq;
+        r.esq = no.dir;
+        no.dir = r;
+
+        no.tamanho = r.tamanho;
+        r.tamanho = tamanho(r.esq) + tamanho(r.dir) + 1;
+
+        return no;
+    }
+
+    /**
+     * Rotação à esquerda: o filho direito de r sobe.
+     */
+    static <T> No<T> rotateRR(No<T> r) {
+        No<T> no = r.dir;
+        r.dir = no.esq;
+        no.esq = r;
+
+        no.tamanho = r.tamanho;
+        r.tamanho = tamanho(r.esq) + tamanho(r.dir) + 1;
+
+        return no;
+    }
+
+    private void emOrdem(No<T> r, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        emOrdem(r.esq, visitante);
+        visitante.visita(r.item);
+        emOrdem(r.dir, visitante);
+    }
+
+    private void emOrdemInvertida(No<T> r, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        emOrdemInvertida(r.dir, visitante);
+        visitante.visita(r.item);
+        emOrdemInvertida(r.esq, visitante);
+    }
+
+    /**
+     * @return Verdadeiro se algum nó do nível n (contado a partir de r) foi visitado
+     */
+    private boolean visitarNivel(No<T> r, int n, Visitante<T> visitante) {
+        if (r == null)
+            return false;
+
+        if (n == 0) {
+            visitante.visita(r.item);
+            return true;
+        }
+
+        boolean esquerda = visitarNivel(r.esq, n - 1, visitante);
+        boolean direita = visitarNivel(r.dir, n - 1, visitante);
+
+        return esquerda || direita;
+    }
+
+    private MaiorSoma maxSoma(No<T> r) {
+        if (r == null)
+            return new MaiorSoma("", 0);
+
+        if (!(r.item instanceof Integer))
+            throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+        int valorNoAtual = (Integer) r.item;
+
+        if (r.esq == null && r.dir == null)
+            return new MaiorSoma("", valorNoAtual);
+
+        MaiorSoma esquerda = maxSoma(r.esq);
+        MaiorSoma direita = maxSoma(r.dir);
+
+        if (esquerda.valor >= direita.valor)
+            return new MaiorSoma("E" + esquerda.caminho, valorNoAtual + esquerda.valor);
+        else
+            return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
+    }
+
+    private void imprime(No<T> r, int nivel, StringBuilder buffer) {
+        if (r == null)
+            return;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(r.item.toString());
+        buffer.append("\n");
+
+        imprime(r.esq, nivel + 1, buffer);
+        imprime(r.dir, nivel + 1, buffer);
+    }
+
+    /**
+     * Retorna uma string com os itens da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+}
@@ -1,41 +1,461 @@
 package arvbin;
 
+import iterador.Iterador;
 import lista.ILista;
 import lista.LSE;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class AVL<T, K> implements IABB<T, K> {
+    // abaixo desse tamanho de subárvore as operações paralelas seguem sequenciais
+    private static final int LIMIAR_PARALELO = 1 << 13;
+
+    // compartilhados por todas as árvores em ordem natural, para que elas
+    // sejam reconhecidas como de mesma ordem nas operações de conjunto
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> ORDEM_NATURAL = (o1, o2) -> { return ((Comparable<Object>) o1).compareTo(o2); };
+    private static final Function<Object, Object> IDENTIDADE = (o) -> o;
+
+    private enum Operacao { UNIAO, INTERSECAO, DIFERENCA }
+
     private No raiz;
     private int quantidade;
+    // conta as alterações estruturais, para os iteradores falharem rápido
+    private int modificacoes;
+    // caminho da raiz até o nó alterado, reaproveitado por inserir e removerChave
+    private Object[] caminho = new Object[0];
+    private boolean[] paraEsquerda = new boolean[0];
     private final Comparator<K> comparador;
     private final Function<T, K> recuperaChave;
+    private final boolean guardarChaves;
 
+    @SuppressWarnings("unchecked")
     public AVL() {
-        this.comparador = (o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); };
-        this.recuperaChave = (o) -> (K) o;
+        this((Comparator<K>) (Comparator<?>) ORDEM_NATURAL, (Function<T, K>) (Function<?, ?>) IDENTIDADE, false);
     }
 
     public AVL(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this(comparador, recuperaChave, false);
+    }
+
+    /**
+     * @param guardarChaves Se verdadeiro, cada nó guarda a chave extraída do seu
+     *                      item, e recuperaChave passa a ser chamada uma única vez por
+     *                      item (na inserção) em vez de a cada comparação. Vale a pena
+     *                      quando recuperaChave é cara (monta uma chave composta, por
+     *                      exemplo). Custo: o campo chave existe em todo nó, mas numa JVM
+     *                      de 64 bits com compressed oops ele ocupa o preenchimento de
+     *                      alinhamento do nó (40 bytes com ou sem ele); o que pesa é
+     *                      manter vivo um objeto chave por nó quando recuperaChave cria
+     *                      um novo a cada chamada, em vez de devolver um campo do item.
+     */
+    public AVL(Comparator<K> comparador, Function<T, K> recuperaChave, boolean guardarChaves) {
         this.comparador = comparador;
         this.recuperaChave = recuperaChave;
+        this.guardarChaves = guardarChaves;
+    }
+
+    /**
+     * Constrói uma árvore perfeitamente balanceada a partir de itens já ordenados
+     * pela chave, em O(N) e sem rotações. Itens com chaves repetidas são
+     * descartados (fica o primeiro, como em inserções sucessivas).
+     *
+     * @throws IllegalArgumentException se os itens não estiverem em ordem crescente de chave
+     */
+    public static <T, K> AVL<T, K> deSequenciaOrdenada(T[] itens, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        AVL<T, K> arvore = new AVL<>(comparador, recuperaChave);
+        arvore.construirOrdenado(Arrays.copyOf(itens, itens.length, Object[].class), itens.length);
+        return arvore;
+    }
+
+    /**
+     * Igual a {@link #deSequenciaOrdenada(Object[], Comparator, Function)}, usando a ordem natural dos itens.
+     */
+    public static <T, K> AVL<T, K> deSequenciaOrdenada(T[] itens) {
+        AVL<T, K> arvore = new AVL<>();
+        arvore.construirOrdenado(Arrays.copyOf(itens, itens.length, Object[].class), itens.length);
+        return arvore;
+    }
+
+    /**
+     * Igual a {@link #deSequenciaOrdenada(Object[], Comparator, Function)}, consumindo o iterador.
+     */
+    public static <T, K> AVL<T, K> deSequenciaOrdenada(Iterador<T> itens, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        Object[] v = new Object[16];
+        int n = 0;
+
+        while (itens.temProximo()) {
+            if (n == v.length)
+                v = Arrays.copyOf(v, n + (n >> 1));
+            v[n++] = itens.proximo();
+        }
+
+        AVL<T, K> arvore = new AVL<>(comparador, recuperaChave);
+        arvore.construirOrdenado(v, n);
+        return arvore;
+    }
+
+    /**
+     * Igual a {@link #deSequenciaOrdenada(Object[], Comparator, Function)}, a partir de uma lista.
+     */
+    public static <T, K> AVL<T, K> deSequenciaOrdenada(LSE<T> itens, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        return deSequenciaOrdenada(itens.iterador(), comparador, recuperaChave);
+    }
+
+    /**
+     * Constrói a árvore a partir de itens em qualquer ordem: ordena uma cópia
+     * (em paralelo, se pedido) e monta a árvore balanceada em O(N log N) no total.
+     *
+     * @param paralelo Se verdadeiro, usa Arrays.parallelSort
+     */
+    public static <T, K> AVL<T, K> deSequencia(T[] itens, Comparator<K> comparador, Function<T, K> recuperaChave, boolean paralelo) {
+        T[] copia = Arrays.copyOf(itens, itens.length);
+        Comparator<T> porChave = (x, y) -> comparador.compare(recuperaChave.apply(x), recuperaChave.apply(y));
+
+        // ordenações estáveis: entre chaves repetidas continua valendo o primeiro item
+        if (paralelo)
+            Arrays.parallelSort(copia, porChave);
+        else
+            Arrays.sort(copia, porChave);
+
+        return deSequenciaOrdenada(copia, comparador, recuperaChave);
     }
 
     private class No {
         private T item;
         private int h;
+        // quantidade de nós da subárvore (estatísticas de ordem)
+        private int tamanho = 1;
         private No esq;
         private No dir;
+        // só é preenchida com guardarChaves
+        private K chave;
 
         public No (T item) {
+            this(item, guardarChaves ? recuperaChave.apply(item) : null);
+        }
+
+        public No (T item, K chave) {
             this.item = item;
+            this.chave = guardarChaves ? chave : null;
+        }
+    }
+
+    /**
+     * Chave do item de r: a guardada no nó, se houver; senão, extraída do item.
+     */
+    private K chave(No r) {
+        K key = r.chave;
+        return key != null ? key : recuperaChave.apply(r.item);
+    }
+
+    // não há vetor de T, K ou No: os vetores de trabalho (pilhas, caminho,
+    // lotes) são Object[], e estas são as únicas conversões de volta
+
+    @SuppressWarnings("unchecked")
+    private T item(Object o) {
+        return (T) o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K chaveDe(Object o) {
+        return (K) o;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K[] chavesDe(Object[] v) {
+        return (K[]) v;
+    }
+
+    @SuppressWarnings("unchecked")
+    private No no(Object o) {
+        return (No) o;
+    }
+
+    /**
+     * Compara dois itens guardados num vetor de trabalho pelas suas chaves.
+     */
+    private int compararItens(Object x, Object y) {
+        return comparador.compare(recuperaChave.apply(item(x)), recuperaChave.apply(item(y)));
+    }
+
+    /**
+     * Spliterator que cobre [primeiro] seguido da subárvore r em ordem.
+     * Dividir (primeiro, r) dá o prefixo (primeiro, r.esq) e deixa aqui
+     * (r.item, r.dir): as partes são subárvores inteiras, com tamanho exato.
+     * Depois que o percurso começa não divide mais.
+     */
+    private class DivisorAVL implements Spliterator<T> {
+        private T primeiro;
+        private No r;
+        // só é criada se tryAdvance for usado
+        private Object[] pilha;
+        private int topo;
+        private final int modificacoesEsperadas = modificacoes;
+
+        DivisorAVL(T primeiro, No r) {
+            this.primeiro = primeiro;
+            this.r = r;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (pilha != null || r == null || r.tamanho < 2)
+                return null;
+
+            DivisorAVL prefixo = new DivisorAVL(primeiro, r.esq);
+            primeiro = r.item;
+            r = r.dir;
+
+            return prefixo;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> acao) {
+            if (modificacoes != modificacoesEsperadas)
+                throw new ConcurrentModificationException();
+
+            if (primeiro != null) {
+                T item = primeiro;
+                primeiro = null;
+                acao.accept(item);
+                return true;
+            }
+
+            if (pilha == null) {
+                pilha = new Object[altura(r) + 1];
+                empilhar(r);
+                r = null;
+            }
+            if (topo == 0)
+                return false;
+
+            No no = no(pilha[--topo]);
+            pilha[topo] = null;
+            empilhar(no.dir);
+            acao.accept(no.item);
+
+            return true;
+        }
+
+        private void empilhar(No no) {
+            while (no != null) {
+                pilha[topo++] = no;
+                no = no.esq;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> acao) {
+            if (pilha != null) {
+                while (tryAdvance(acao));
+                return;
+            }
+
+            if (primeiro != null)
+                acao.accept(primeiro);
+            emOrdem(r, acao::accept);
+            primeiro = null;
+            r = null;
+
+            if (modificacoes != modificacoesEsperadas)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public long estimateSize() {
+            if (pilha != null) {
+                long n = 0;
+                for (int i = 0; i < topo; i++)
+                    n += 1 + tamanho(no(pilha[i]).dir);
+                return n;
+            }
+
+            return (primeiro != null ? 1 : 0) + (r == null ? 0 : r.tamanho);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * maxSoma de uma subárvore: as duas metades viram tarefas enquanto a
+     * subárvore for maior que LIMIAR_PARALELO.
+     */
+    private class MaxSomaParalela extends RecursiveTask<MaiorSoma> {
+        private static final long serialVersionUID = 1L;
+
+        private final No r;
+
+        MaxSomaParalela(No r) {
+            this.r = r;
+        }
+
+        @Override
+        protected MaiorSoma compute() {
+            if (r == null || r.tamanho < LIMIAR_PARALELO || r.esq == null || r.dir == null)
+                return maxSomaRecursivo(r);
+
+            if (!(r.item instanceof Integer))
+                throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+            int valorNoAtual = (Integer) r.item;
+
+            MaxSomaParalela tarefaEsquerda = new MaxSomaParalela(r.esq);
+            tarefaEsquerda.fork();
+            MaiorSoma direita = new MaxSomaParalela(r.dir).compute();
+            MaiorSoma esquerda = tarefaEsquerda.join();
+
+            if (esquerda.valor >= direita.valor)
+                return new MaiorSoma("E" + esquerda.caminho, valorNoAtual + esquerda.valor);
+            else
+                return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
+        }
+    }
+
+    private class Reducao<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final No r;
+        private final R identidade;
+        private final Function<? super T, ? extends R> mapeador;
+        private final BinaryOperator<R> combinador;
+
+        Reducao(No r, R identidade, Function<? super T, ? extends R> mapeador, BinaryOperator<R> combinador) {
+            this.r = r;
+            this.identidade = identidade;
+            this.mapeador = mapeador;
+            this.combinador = combinador;
+        }
+
+        @Override
+        protected R compute() {
+            if (r == null || r.tamanho < LIMIAR_PARALELO)
+                return reduzir(r);
+
+            Reducao<R> tarefaEsquerda = new Reducao<>(r.esq, identidade, mapeador, combinador);
+            tarefaEsquerda.fork();
+            R direita = new Reducao<>(r.dir, identidade, mapeador, combinador).compute();
+            R esquerda = tarefaEsquerda.join();
+
+            return combinador.apply(combinador.apply(esquerda, mapeador.apply(r.item)), direita);
+        }
+
+        private R reduzir(No no) {
+            if (no == null)
+                return identidade;
+
+            R valor = combinador.apply(reduzir(no.esq), mapeador.apply(no.item));
+            return combinador.apply(valor, reduzir(no.dir));
+        }
+    }
+
+    private class OperacaoConjunto extends RecursiveTask<No> {
+        private static final long serialVersionUID = 1L;
+
+        private final Operacao op;
+        private final No a;
+        private final No b;
+
+        OperacaoConjunto(Operacao op, No a, No b) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected No compute() {
+            return combinar(op, a, b);
+        }
+    }
+
+    /**
+     * Iterador em ordem (ou em ordem invertida) sobre uma pilha explícita de
+     * tamanho h + 1, alocada uma única vez: proximo() não aloca nada.
+     * Lança ConcurrentModificationException se a árvore for alterada depois
+     * da criação do iterador.
+     */
+    private class IteradorAVL implements Iterador<T> {
+        // Object[]: não dá para criar um array do tipo genérico No
+        private final Object[] pilha;
+        private int topo;
+        private final boolean invertido;
+        private final int modificacoesEsperadas = modificacoes;
+
+        IteradorAVL(boolean invertido) {
+            this.pilha = new Object[altura(raiz) + 1];
+            this.invertido = invertido;
+            empilhar(raiz);
+        }
+
+        /**
+         * Posiciona no primeiro item com chave maior ou igual a key.
+         */
+        IteradorAVL(K key) {
+            this.pilha = new Object[altura(raiz) + 1];
+            this.invertido = false;
+
+            // empilha só os nós >= key do caminho: são exatamente os ancestrais
+            // ainda não visitados do primeiro item >= key
+            No r = raiz;
+            while (r != null) {
+                if (comparador.compare(key, chave(r)) <= 0) {
+                    pilha[topo++] = r;
+                    r = r.esq;
+                }
+                else
+                    r = r.dir;
+            }
+        }
+
+        private void empilhar(No r) {
+            while (r != null) {
+                pilha[topo++] = r;
+                r = invertido ? r.dir : r.esq;
+            }
+        }
+
+        @Override
+        public boolean temProximo() {
+            return topo > 0;
+        }
+
+        @Override
+        public T proximo() {
+            if (modificacoes != modificacoesEsperadas)
+                throw new ConcurrentModificationException();
+            if (topo == 0)
+                throw new NoSuchElementException();
+
+            No r = no(pilha[--topo]);
+            pilha[topo] = null;
+            empilhar(invertido ? r.esq : r.dir);
+
+            return r.item;
         }
     }
 
     @Override
     public void inserir(T e) {
-        raiz = inserir(raiz, e, recuperaChave.apply(e));
+        inserir(e, recuperaChave.apply(e));
     }
 
     @Override
@@ -43,9 +463,232 @@ public class AVL<T, K> implements IABB<T, K> {
         removerChave(recuperaChave.apply(e));
     }
 
+    /**
+     * Remoção iterativa, com o mesmo caminho explícito da inserção. Um nó com
+     * 2 filhos recebe o item do maior nó da SAE, que é o nó desligado.
+     */
     @Override
     public void removerChave(K key) {
-        raiz = removerChave(raiz, key);
+        if (raiz == null)
+            return;
+
+        garantirCaminho();
+        int n = 0;
+        No r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, chave(r));
+            if (c == 0)
+                break;
+
+            caminho[n] = r;
+            paraEsquerda[n] = c < 0;
+            n++;
+            r = c < 0 ? r.esq : r.dir;
+        }
+
+        if (r == null) {
+            // key não encontrada
+            limparCaminho(n);
+            return;
+        }
+
+        No substituto;
+        if (r.esq != null && r.dir != null) {
+            // 2 filhos: desce até o maior nó da SAE, que é quem sai da árvore
+            caminho[n] = r;
+            paraEsquerda[n] = true;
+            n++;
+
+            No m = r.esq;
+            while (m.dir != null) {
+                caminho[n] = m;
+                paraEsquerda[n] = false;
+                n++;
+                m = m.dir;
+            }
+
+            r.item = m.item;
+            r.chave = m.chave;
+            substituto = m.esq;
+        }
+        else
+            substituto = r.esq != null ? r.esq : r.dir;
+
+        religar(n, substituto);
+        quantidade--;
+        modificacoes++;
+
+        boolean alturaMudou = true;
+        for (int i = n - 1; i >= 0; i--) {
+            No p = no(caminho[i]);
+            p.tamanho--;
+
+            if (!alturaMudou)
+                continue;
+
+            int hAntes = p.h;
+            p.h = altura(p);
+            if (fb(p) > 1) {
+                // na remoção a rotação pode encurtar a subárvore: segue subindo
+                No novo = balancear(p);
+                religar(i, novo);
+                alturaMudou = novo.h != hAntes;
+            }
+            else if (p.h == hAntes)
+                alturaMudou = false;
+        }
+
+        limparCaminho(n);
+    }
+
+    /**
+     * Insere um lote de itens de uma vez: o lote é ordenado, vira uma AVL
+     * balanceada e é unido à árvore por split/join, em O(m log(n/m + 1)) em
+     * vez de m descidas a partir da raiz. Como em inserir, chaves já
+     * existentes (ou repetidas no lote) mantêm o primeiro item.
+     */
+    public void inserirTodos(T[] itens) {
+        inserirLote(Arrays.copyOf(itens, itens.length, Object[].class));
+    }
+
+    /**
+     * Igual a {@link #inserirTodos(Object[])}.
+     */
+    public void inserirTodos(Collection<? extends T> itens) {
+        inserirLote(itens.toArray());
+    }
+
+    /**
+     * Remove da árvore os itens de todas as chaves do lote (as ausentes são
+     * ignoradas), em O(m log(n/m + 1)) por split/join.
+     * Não confundir com {@link #removeTodos()}, que esvazia a árvore.
+     */
+    public void removerTodos(Collection<? extends K> keys) {
+        Object[] v = keys.toArray();
+        Arrays.sort(v, (x, y) -> comparador.compare(chaveDe(x), chaveDe(y)));
+
+        int antes = quantidade;
+        raiz = diferenca(raiz, v, 0, v.length);
+        quantidade = tamanho(raiz);
+        if (quantidade != antes)
+            modificacoes++;
+    }
+
+    /**
+     * Esta árvore passa a ser a união dela com outra (nas chaves presentes nas
+     * duas fica o item desta), em O(m log(n/m + 1)), com as subárvores
+     * grandes processadas em paralelo no ForkJoinPool comum.
+     * Os nós de outra são reaproveitados e ela fica vazia.
+     *
+     * Se outra não usa o mesmo comparador e a mesma função de chave (as mesmas
+     * instâncias), ela é antes reordenada, o que custa O(m log m).
+     */
+    public void uniao(AVL<T, K> outra) {
+        operacaoConjunto(Operacao.UNIAO, outra);
+    }
+
+    /**
+     * Esta árvore passa a ter apenas os itens cujas chaves também estão em
+     * outra. Mesmo custo e mesmas condições de {@link #uniao(AVL)}.
+     */
+    public void intersecao(AVL<T, K> outra) {
+        operacaoConjunto(Operacao.INTERSECAO, outra);
+    }
+
+    /**
+     * Remove desta árvore os itens cujas chaves estão em outra. Mesmo custo e
+     * mesmas condições de {@link #uniao(AVL)}.
+     */
+    public void diferenca(AVL<T, K> outra) {
+        operacaoConjunto(Operacao.DIFERENCA, outra);
+    }
+
+    private void operacaoConjunto(Operacao op, AVL<T, K> outra) {
+        if (outra == this) {
+            if (op == Operacao.DIFERENCA)
+                removeTodos();
+            return;
+        }
+
+        No b = outra.raiz;
+        if (comparador != outra.comparador || recuperaChave != outra.recuperaChave)
+            b = reordenar(outra);
+        outra.removeTodos();
+
+        raiz = ForkJoinPool.commonPool().invoke(new OperacaoConjunto(op, raiz, b));
+        quantidade = tamanho(raiz);
+        modificacoes++;
+    }
+
+    /**
+     * Monta, com a ordem desta árvore, uma subárvore com os itens de outra.
+     */
+    private No reordenar(AVL<T, K> outra) {
+        Object[] v = new Object[outra.quantidade];
+        int[] n = new int[1];
+        outra.emOrdem((item) -> v[n[0]++] = item);
+
+        Arrays.sort(v, this::compararItens);
+        int unicos = descartarRepetidas(v, v.length);
+
+        return construir(v, 0, unicos - 1);
+    }
+
+    /**
+     * Divide a árvore pela chave key em O(log n): esta fica com os itens de
+     * chave menor que key e os demais vão para a árvore retornada (com o
+     * mesmo comparador). Os nós são reaproveitados, sem cópia.
+     *
+     * @return Árvore com os itens de chave maior ou igual a key
+     */
+    public AVL<T, K> dividir(K key) {
+        Divisao d = new Divisao();
+        dividir(raiz, key, d);
+
+        AVL<T, K> maiores = new AVL<>(comparador, recuperaChave, guardarChaves);
+        maiores.raiz = d.igual == null ? d.dir : juntar(null, d.igual, d.dir);
+        maiores.quantidade = tamanho(maiores.raiz);
+
+        raiz = d.esq;
+        quantidade = tamanho(raiz);
+        modificacoes++;
+
+        return maiores;
+    }
+
+    /**
+     * Anexa a esta árvore todos os itens de outra, em O(log n), desde que
+     * todas as chaves desta sejam menores que todas as chaves de outra.
+     * A outra árvore fica vazia.
+     *
+     * @throws IllegalArgumentException se os intervalos de chaves se sobrepõem
+     */
+    public void juntar(AVL<T, K> outra) {
+        if (outra == this)
+            throw new IllegalArgumentException("Nao e possivel juntar uma arvore com ela mesma");
+
+        if (raiz != null && outra.raiz != null
+                && comparador.compare(recuperaChave.apply(maior(raiz)), recuperaChave.apply(outra.menor(outra.raiz))) >= 0)
+            throw new IllegalArgumentException("As chaves da outra arvore devem ser todas maiores que as desta");
+
+        raiz = juntar(raiz, outra.raiz);
+        quantidade = tamanho(raiz);
+        modificacoes++;
+
+        outra.removeTodos();
+    }
+
+    private void inserirLote(Object[] v) {
+        // ordenação estável: entre chaves repetidas fica o primeiro item
+        Arrays.sort(v, this::compararItens);
+        int unicos = descartarRepetidas(v, v.length);
+
+        int antes = quantidade;
+        raiz = ForkJoinPool.commonPool().invoke(new OperacaoConjunto(Operacao.UNIAO, raiz, construir(v, 0, unicos - 1)));
+        quantidade = tamanho(raiz);
+        if (quantidade != antes)
+            modificacoes++;
     }
 
     @Override
@@ -54,7 +697,7 @@ public class AVL<T, K> implements IABB<T, K> {
 
         while (aux != null) {
             // Compara a key do nó que está sendo procurado com a key do nó atual (aux)
-            int c = comparador.compare(key, recuperaChave.apply(aux.item));
+            int c = comparador.compare(key, chave(aux));
 
             if (c == 0)
                 // key = aux.key -> achou
@@ -80,6 +723,46 @@ public class AVL<T, K> implements IABB<T, K> {
         return buscar(key) != null;
     }
 
+    /**
+     * Busca várias chaves de uma vez. As sondas são ordenadas e descem juntas:
+     * em cada nó o lote é dividido entre as que ficam à esquerda, as que
+     * acharam o nó e as que seguem à direita, então o trecho de caminho comum
+     * a várias chaves é percorrido uma única vez.
+     *
+     * @param keys Chaves procuradas (podem se repetir)
+     * @return Lista com o item de cada chave, na ordem de keys; null para as não encontradas
+     */
+    public LSE<T> buscarLote(K[] keys) {
+        int m = keys.length;
+        int[] ordem = new int[m];
+        for (int i = 0; i < m; i++)
+            ordem[i] = i;
+        ordenarIndices(keys, ordem, new int[m], 0, m);
+
+        Object[] achados = new Object[m];
+        buscarLote(raiz, keys, ordem, 0, m, achados);
+
+        // a lista é montada de trás para frente, sempre inserindo no início
+        LSE<T> resultado = new LSE<>();
+        for (int i = m - 1; i >= 0; i--)
+            resultado.inserirInicio(item(achados[i]));
+
+        return resultado;
+    }
+
+    /**
+     * Igual a {@link #buscarLote(Object[])}.
+     */
+    public LSE<T> buscarLote(LSE<K> keys) {
+        Object[] v = new Object[keys.quantidade()];
+        int n = 0;
+
+        for (Iterador<K> it = keys.iterador(); it.temProximo(); )
+            v[n++] = it.proximo();
+
+        return buscarLote(chavesDe(v));
+    }
+
     @Override
     public T maior() {
         return maior(raiz);
@@ -97,13 +780,14 @@ public class AVL<T, K> implements IABB<T, K> {
 
     @Override
     public boolean estaVazia() {
-        return raiz != null;
+        return raiz == null;
     }
 
     @Override
     public void removeTodos() {
         raiz = null;
         quantidade = 0;
+        modificacoes++;
     }
 
     @Override
@@ -116,6 +800,59 @@ public class AVL<T, K> implements IABB<T, K> {
         emOrdemInvertida(raiz, visitante);
     }
 
+    /**
+     * @return Stream sequencial dos itens em ordem crescente de chave
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(new DivisorAVL(null, raiz), false);
+    }
+
+    /**
+     * Stream paralela: o Spliterator se divide nas fronteiras das subárvores,
+     * então cada parte tem o tamanho exato e as divisões são balanceadas.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(new DivisorAVL(null, raiz), true);
+    }
+
+    /**
+     * Igual a {@link #maxSoma()}, calculando as subárvores grandes em paralelo
+     * no ForkJoinPool comum.
+     */
+    public MaiorSoma maxSomaParalelo() {
+        return ForkJoinPool.commonPool().invoke(new MaxSomaParalela(raiz));
+    }
+
+    /**
+     * Redução paralela em ordem: mapeia cada item e os combina subárvore a
+     * subárvore (esq, item, dir) no ForkJoinPool comum. O combinador deve ser
+     * associativo e identidade deve ser seu elemento neutro.
+     */
+    public <R> R reduzir(R identidade, Function<? super T, ? extends R> mapeador, BinaryOperator<R> combinador) {
+        return ForkJoinPool.commonPool().invoke(new Reducao<>(raiz, identidade, mapeador, combinador));
+    }
+
+    /**
+     * @return Iterador sobre os itens em ordem crescente de chave
+     */
+    public Iterador<T> iterador() {
+        return new IteradorAVL(false);
+    }
+
+    /**
+     * @return Iterador sobre os itens em ordem decrescente de chave
+     */
+    public Iterador<T> iteradorInvertido() {
+        return new IteradorAVL(true);
+    }
+
+    /**
+     * @return Iterador em ordem crescente a partir do primeiro item com chave maior ou igual a key
+     */
+    public Iterador<T> iteradorDesde(K key) {
+        return new IteradorAVL(key);
+    }
+
     public void nivel(int n, Visitante<T> visitante){
         //se a arvore estiver vazia || se o nivel nao existe || ""
         if (raiz == null || n < 0 || n > raiz.h) {
@@ -143,179 +880,465 @@ public class AVL<T, K> implements IABB<T, K> {
         visitarNivelComAltura(r.dir, nivelDesejado, nivelAtual + 1, visitante);
     }
 
-    public LSE<T> menorCaminho(T a, T b){
+    /**
+     * Entrega o caminho direto a destino, sem montar a LSE intermediária.
+     */
+    @Override
+    public boolean menorCaminho(T a, T b, ILista<T> destino) {
+        return menorCaminho(a, b, destino::inserirFim);
+    }
+
+    /**
+     * Acha o LCA de a e b numa única descida a partir da raiz e, dele,
+     * desce até a e até b: O(log n), sem buscas extras para saber se os itens
+     * existem. A lista é montada de trás para frente, sempre inserindo no início.
+     */
+    @Override
+    public LSE<T> menorCaminho(T a, T b) {
+        LSE<T> resultado = new LSE<>();
+        K keyA = recuperaChave.apply(a);
+        K keyB = recuperaChave.apply(b);
+
+        No lca = lca(keyA, keyB);
+        if (lca == null)
+            return resultado;
+
+        Object[] ladoA = new Object[lca.h];
+        Object[] ladoB = new Object[lca.h];
+        int na = descer(lca, keyA, ladoA);
+        int nb = descer(lca, keyB, ladoB);
+        if (na < 0 || nb < 0)
+            return resultado;
+
+        for (int i = nb - 1; i >= 0; i--)
+            resultado.inserirInicio(item(ladoB[i]));
+        resultado.inserirInicio(lca.item);
+        for (int i = 0; i < na; i++)
+            resultado.inserirInicio(item(ladoA[i]));
+
+        return resultado;
+    }
+
+    /**
+     * Igual a {@link #menorCaminho(Object, Object)}, mas entrega os itens do
+     * caminho, de a até b, ao visitante em vez de montar uma lista.
+     *
+     * @return Verdadeiro se a e b existem; falso (e nada é visitado) caso contrário
+     */
+    public boolean menorCaminho(T a, T b, Visitante<T> visitante) {
+        K keyA = recuperaChave.apply(a);
+        K keyB = recuperaChave.apply(b);
+
+        No lca = lca(keyA, keyB);
+        if (lca == null)
+            return false;
+
+        Object[] ladoA = new Object[lca.h];
+        Object[] ladoB = new Object[lca.h];
+        int na = descer(lca, keyA, ladoA);
+        int nb = descer(lca, keyB, ladoB);
+        if (na < 0 || nb < 0)
+            return false;
+
+        for (int i = na - 1; i >= 0; i--)
+            visitante.visita(item(ladoA[i]));
+        visitante.visita(lca.item);
+        for (int i = 0; i < nb; i++)
+            visitante.visita(item(ladoB[i]));
+
+        return true;
+    }
+
+    /**
+     * Desce enquanto keyA e keyB estiverem do mesmo lado.
+     *
+     * @return Nó onde os caminhos se separam; ou null, se a descida caiu fora da árvore
+     */
+    private No lca(K keyA, K keyB) {
+        No r = raiz;
+
+        while (r != null) {
+            K key = chave(r);
+            int ca = comparador.compare(keyA, key);
+            int cb = comparador.compare(keyB, key);
+
+            if (ca < 0 && cb < 0)
+                r = r.esq;
+            else if (ca > 0 && cb > 0)
+                r = r.dir;
+            else
+                break;
+        }
+
+        return r;
+    }
+
+    /**
+     * Guarda em destino os itens abaixo de de até o nó de key (inclusive).
+     *
+     * @return Quantidade de itens guardados; ou -1, se key não existe
+     */
+    private int descer(No de, K key, Object[] destino) {
+        int n = 0;
+        No r = de;
+
+        while (true) {
+            int c = comparador.compare(key, chave(r));
+            if (c == 0)
+                return n;
+
+            r = c < 0 ? r.esq : r.dir;
+            if (r == null)
+                return -1;
+            destino[n++] = r.item;
+        }
+    }
+
+    @Override
+    public String codigo(T a) {
+        K key = recuperaChave.apply(a);
+        StringBuilder codigo = new StringBuilder();
+        No r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, chave(r));
+            if (c == 0)
+                return codigo.toString();
+
+            codigo.append(c < 0 ? '0' : '1');
+            r = c < 0 ? r.esq : r.dir;
+        }
+
+        return null;
+    }
+
+    /**
+     * O mesmo código de {@link #codigo(Object)} compactado num long: um bit 1
+     * marcando o início, seguido de um bit por nível (0 = SAE, 1 = SAD), do
+     * mais significativo (raiz) ao menos significativo. O tamanho do código é
+     * 63 - Long.numberOfLeadingZeros(codigo). Cabe sempre, pois a altura de
+     * uma AVL com até 2^31 nós é menor que 63.
+     *
+     * @return Código compactado; ou -1, se a não existe
+     */
+    public long codigoCompactado(T a) {
+        K key = recuperaChave.apply(a);
+        long codigo = 1;
+        No r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, chave(r));
+            if (c == 0)
+                return codigo;
+
+            if (c < 0) {
+                codigo <<= 1;
+                r = r.esq;
+            }
+            else {
+                codigo = (codigo << 1) | 1;
+                r = r.dir;
+            }
+        }
+
+        return -1;
+    }
+
+    public MaiorSoma maxSoma(){
+
+        return maxSomaRecursivo(raiz);
+    }
+
+    @Override
+    public T selecionar(int k) {
+        if (k < 0 || k >= quantidade)
+            return null;
+
+        No r = raiz;
+        while (r != null) {
+            int te = r.esq == null ? 0 : r.esq.tamanho;
+
+            if (k < te)
+                r = r.esq;
+            else if (k == te)
+                return r.item;
+            else {
+                // pula a SAE e o próprio nó
+                k -= te + 1;
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public int posto(K key) {
+        return contarMenores(key, false);
+    }
+
+    @Override
+    public int contarIntervalo(K lo, K hi) {
+        if (comparador.compare(lo, hi) > 0)
+            return 0;
+
+        return contarMenores(hi, true) - contarMenores(lo, false);
+    }
+
+    /**
+     * Conta, descendo uma única vez, os itens com chave menor que key
+     * (ou menor ou igual, se inclusivo).
+     */
+    private int contarMenores(K key, boolean inclusivo) {
+        int qtd = 0;
+        No r = raiz;
 
-        LSE<T> resultado = new LSE<>();
-        //se nao existirem os itens na arvore, lista nula
-        if (!contem(a) || !contem(b))
-            return resultado;
+        while (r != null) {
+            int c = comparador.compare(key, chave(r));
 
-        //comparar as keys
-        K keyA = recuperaChave.apply(a);
-        K keyB = recuperaChave.apply(b);
-        if (comparador.compare(keyA, keyB) == 0){
-            resultado.inserirFim(a);
-            return resultado;
+            if (c < 0 || (c == 0 && !inclusivo))
+                r = r.esq;
+            else {
+                // r e toda a sua SAE são menores (ou iguais) a key
+                qtd += (r.esq == null ? 0 : r.esq.tamanho) + 1;
+                r = r.dir;
+            }
         }
 
-        //caminho ate a
-        LSE<T> caminhoA = new LSE<>();
-        buscarCaminho(raiz, keyA, caminhoA);
-//        debug
-//        System.out.println(caminhoA);
+        return qtd;
+    }
 
-        //caminho ate b
-        LSE<T> caminhoB = new LSE<>();
-        buscarCaminho(raiz, keyB, caminhoB);
+    /**
+     * Visita em ordem apenas os itens com chave entre lo e hi (inclusive),
+     * em O(log n + k): as subárvores fora do intervalo não são percorridas.
+     */
+    public void intervalo(K lo, K hi, Visitante<T> visitante) {
+        intervalo(raiz, lo, hi, visitante);
+    }
 
-//        debug
-//        System.out.println(caminhoB);
+    /**
+     * Igual a {@link #intervalo(Object, Object, Visitante)}, mas para assim que
+     * o visitante retornar falso.
+     *
+     * @return Verdadeiro se o intervalo foi percorrido até o fim
+     */
+    public boolean intervaloAte(K lo, K hi, VisitanteInterrompivel<T> visitante) {
+        return intervaloAte(raiz, lo, hi, visitante);
+    }
 
-        T lca = encontrarLCA(caminhoA, caminhoB);
+    /**
+     * Percorre a árvore em ordem até o visitante retornar falso.
+     *
+     * @return Verdadeiro se a árvore foi percorrida até o fim
+     */
+    public boolean emOrdemAte(VisitanteInterrompivel<T> visitante) {
+        return emOrdemAte(raiz, visitante);
+    }
 
-        criaCaminho(caminhoA, caminhoB, lca, resultado);
+    /**
+     * @return Item com a maior chave menor ou igual a key; ou null, se não existe
+     */
+    public T piso(K key) {
+        return vizinho(key, false, true);
+    }
 
-        return resultado;
+    /**
+     * @return Item com a menor chave maior ou igual a key; ou null, se não existe
+     */
+    public T teto(K key) {
+        return vizinho(key, true, true);
+    }
 
+    /**
+     * @return Item com a menor chave estritamente maior que key; ou null, se não existe
+     */
+    public T superior(K key) {
+        return vizinho(key, true, false);
     }
 
-    public String codigo(T a){
+    /**
+     * @return Item com a maior chave estritamente menor que key; ou null, se não existe
+     */
+    public T inferior(K key) {
+        return vizinho(key, false, false);
+    }
 
-        if (!contem(a))
-            return null;
+    /**
+     * Desce uma única vez guardando o último candidato visto.
+     *
+     * @param acima Procura acima de key (teto/superior) ou abaixo (piso/inferior)
+     * @param inclusivo Se a própria key é uma resposta válida
+     */
+    private T vizinho(K key, boolean acima, boolean inclusivo) {
+        T candidato = null;
+        No r = raiz;
 
-        K keyA = recuperaChave.apply(a);
-        String codigo = "";
+        while (r != null) {
+            int c = comparador.compare(key, chave(r));
 
-        codigo = buscarCodigo(raiz, keyA);
-        return codigo;
-    }
+            if (c == 0 && inclusivo)
+                return r.item;
 
-    public MaiorSoma maxSoma(){
+            if (acima) {
+                if (c < 0) {
+                    // r serve, mas pode haver um menor à esquerda
+                    candidato = r.item;
+                    r = r.esq;
+                }
+                else
+                    r = r.dir;
+            }
+            else {
+                if (c > 0) {
+                    candidato = r.item;
+                    r = r.dir;
+                }
+                else
+                    r = r.esq;
+            }
+        }
 
-        return maxSomaRecursivo(raiz);
+        return candidato;
     }
 
     /**
+     * Grava a árvore em um snapshot binário compacto (pré-ordem com as alturas),
+     * que pode ser consultado via {@link SnapshotAVL} ou recarregado em O(N)
+     * com {@link #carregar}.
      *
-     * @param r raiz atual
-     * @param key chave do item T
-     * @param caminho caminho ate T que sera atualizado ao longo das chamdas
+     * @param arquivo Arquivo de destino (sobrescrito se existir)
+     * @param codificador Codificador de largura fixa dos itens
      */
-    private void buscarCaminho(No r, K key, LSE<T> caminho){
-
-        if (r == null)
-            return;
+    public void salvar(Path arquivo, CodificadorItem<T> codificador) throws IOException {
+        int tamanhoRegistro = SnapshotAVL.CAMPOS_NO + codificador.largura();
 
-        caminho.inserirFim(r.item);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(1 << 16, tamanhoRegistro));
 
-        int cmp = comparador.compare(key, recuperaChave.apply(r.item));
-        if (cmp == 0)
-            return;
+            buffer.putInt(SnapshotAVL.MAGICO);
+            buffer.putInt(SnapshotAVL.VERSAO);
+            buffer.putInt(quantidade);
+            buffer.putInt(codificador.largura());
 
-        else if (cmp < 0)
-            buscarCaminho(r.esq, key, caminho);
+            gravarPreOrdem(raiz, 0, buffer, canal, codificador);
 
-        else
-            buscarCaminho(r.dir, key, caminho);
+            descarregar(buffer, canal);
+        }
     }
 
     /**
-     * encontrar o menor LCA, para que seja possivel definir um caminho de
-     * A ate B
-     * @param camA caminho feito para chegar ate o No do item A
-     * @param camB caminho feito para chegar ate o No do item B
-     * @return retorna o Lowest Common Ancestor (menor ancestral comum)
+     * Carrega um snapshot gravado por {@link #salvar} como uma AVL mutável, em O(N).
      */
-    private T encontrarLCA(LSE<T> camA, LSE<T> camB) {
+    public static <T, K> AVL<T, K> carregar(Path arquivo, CodificadorItem<T> codificador,
+                                            Comparator<K> comparador, Function<T, K> recuperaChave) throws IOException {
+        return SnapshotAVL.abrir(arquivo, codificador, comparador, recuperaChave).paraAVL();
+    }
+
+    static <T, K> AVL<T, K> deSnapshot(SnapshotAVL<T, K> snapshot, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        AVL<T, K> arvore = new AVL<>(comparador, recuperaChave);
 
-        //procurar ate a lista de menor qtd
-        int n = Math.min(camA.quantidade(), camB.quantidade());
+        if (!snapshot.estaVazia())
+            arvore.raiz = arvore.construir(snapshot, 0);
+        arvore.quantidade = snapshot.quantidade();
 
-        T noA, noB;
-        K keyA,keyB;
+        return arvore;
+    }
 
-        T lca = null;
+    private void gravarPreOrdem(No r, int i, ByteBuffer buffer,
+                                FileChannel canal, CodificadorItem<T> codificador) throws IOException {
+        if (r == null)
+            return;
 
-        for (int i = 0; i<n; i++){
-            noA = camA.getItem(i);
-            noB = camB.getItem(i);
+        int esq = r.esq == null ? -1 : i + 1;
+        // em pré-ordem, o filho direito vem logo depois de toda a SAE
+        int dir = r.dir == null ? -1 : i + 1 + (r.esq == null ? 0 : r.esq.tamanho);
 
-            keyA = recuperaChave.apply(noA);
-            keyB = recuperaChave.apply(noB);
+        if (buffer.remaining() < SnapshotAVL.CAMPOS_NO + codificador.largura())
+            descarregar(buffer, canal);
 
-            int cmp = comparador.compare(keyA, keyB);
+        buffer.putInt(esq);
+        buffer.putInt(dir);
+        buffer.putInt(r.h);
 
-            //diferentes
-            if(cmp !=0)
-                break;
+        int inicio = buffer.position();
+        codificador.escrever(buffer, r.item);
+        if (buffer.position() - inicio != codificador.largura())
+            throw new IllegalArgumentException("O codificador deve escrever exatamente " + codificador.largura() + " bytes");
 
-            lca = noA;
-        }
-        return lca;
+        gravarPreOrdem(r.esq, esq, buffer, canal, codificador);
+        gravarPreOrdem(r.dir, dir, buffer, canal, codificador);
     }
 
-    private void criaCaminho(LSE<T> caminhoA, LSE<T> caminhoB, T lca, LSE<T> resultado) {
-        K keyLCA = recuperaChave.apply(lca);
+    private static void descarregar(ByteBuffer buffer, FileChannel canal) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            canal.write(buffer);
+        buffer.clear();
+    }
 
-        //for para chegar ate o LCA
-        int indiceLCA = -1;
-        for (int i = 0; i < caminhoA.quantidade(); i++) {
-            T item = caminhoA.getItem(i);
-            if (comparador.compare(recuperaChave.apply(item), keyLCA) == 0) {
-                indiceLCA = i;
-                break;
-            }
-        }
+    private No construir(SnapshotAVL<T, K> snapshot, int i) {
+        if (i == -1)
+            return null;
 
-        // Adiciona do caminho A ate lca (invertido) sem add lca
-        for (int i = caminhoA.quantidade() - 1; i > indiceLCA; i--) {
-            resultado.inserirFim(caminhoA.getItem(i));
-        }
+        No no = new No(snapshot.item(i));
+        no.h = snapshot.h(i);
+        no.esq = construir(snapshot, snapshot.esq(i));
+        no.dir = construir(snapshot, snapshot.dir(i));
+        no.tamanho = tamanho(no);
 
+        return no;
+    }
 
-        //Adiciona de LCA ate B (so comeca a add quando achar o lca)
-        boolean passouLCA = false;
+    /**
+     * Descarta as chaves repetidas de v[0..n) e monta a árvore balanceada.
+     */
+    private void construirOrdenado(Object[] v, int n) {
+        int unicos = descartarRepetidas(v, n);
 
-        for (int i = 0; i < caminhoB.quantidade(); i++) {
+        raiz = construir(v, 0, unicos - 1);
+        quantidade = unicos;
+    }
 
-            T item = caminhoB.getItem(i);
-            //quando chegar no LCA, passou vira true e comeca a add na lista resultante
-            if (comparador.compare(recuperaChave.apply(item), keyLCA) == 0) {
-                passouLCA = true;
-            }
-            if (passouLCA){
-                resultado.inserirFim(item);
+    /**
+     * Compacta v[0..n) ordenado mantendo só o primeiro item de cada chave.
+     *
+     * @return Quantidade de itens que ficaram
+     */
+    private int descartarRepetidas(Object[] v, int n) {
+        int unicos = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (unicos > 0) {
+                int c = compararItens(v[unicos - 1], v[i]);
+                if (c > 0)
+                    throw new IllegalArgumentException("Os itens nao estao em ordem crescente de chave");
+                if (c == 0)
+                    continue;
             }
+            v[unicos++] = v[i];
         }
+
+        return unicos;
     }
 
     /**
-     * o metodo eh muito semelhante com o de buscar caminho
-     * mas a cada comparacao (ida para a esquerda e direita)
-     * ele adiciona um 0 ou 1 caso va para o caminho esq ou dir
-     * (metodo recursivo)
-     * @param r no atual
-     * @param key key do item <T>e para comparacao
-     * @return String com o codigo para o caminho do item <T>e
+     * Monta a subárvore com os itens v[ini..fim], usando o do meio como raiz.
      */
-    private String buscarCodigo(No r, K key){
-
-        if (r == null)
-            return "";
-
-        int cmp = comparador.compare(key, recuperaChave.apply(r.item));
-        if (cmp == 0)
-            return "";
+    private No construir(Object[] v, int ini, int fim) {
+        if (ini > fim)
+            return null;
 
-        else if (cmp < 0) {
-            return "0" + buscarCodigo(r.esq, key);
-        }
+        int meio = (ini + fim) >>> 1;
+        No no = new No(item(v[meio]));
+        no.esq = construir(v, ini, meio - 1);
+        no.dir = construir(v, meio + 1, fim);
+        no.h = altura(no);
+        no.tamanho = tamanho(no);
 
-        else {
-            return "1" + buscarCodigo(r.dir, key);
-        }
+        return no;
     }
+
     private MaiorSoma maxSomaRecursivo(No r) {
         //no nulo
         if (r == null) {
@@ -345,101 +1368,395 @@ public class AVL<T, K> implements IABB<T, K> {
             return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
         }
     }
-    private No inserir(No r, T e, K key) {
-        if (r == null) {
-            // Encontrou a posição
-            r = new No(e);
+
+    /**
+     * Inserção iterativa: desce comparando a chave uma única vez por nível e
+     * guardando o caminho; na subida atualiza os tamanhos e só recalcula
+     * alturas e balanceamento enquanto a altura continuar mudando.
+     */
+    private void inserir(T e, K key) {
+        if (raiz == null) {
+            raiz = new No(e, key);
             quantidade++;
+            modificacoes++;
+            return;
         }
-        else {
-            // Compara a key do nó que está sendo inserido com a key do nó atual (r)
-            int c = comparador.compare(key, recuperaChave.apply(r.item));
 
-            if (c < 0) {
-                // key < r.key -> insere à esquerda
-                r.esq = inserir(r.esq, e, key);
-                // Recalcula a altura do nó e verifica o balanceamento (LL ou LR)
-                r.h = altura(r);
-                if (fb(r) > 1) {
-                    if (comparador.compare(key, recuperaChave.apply(r.esq.item)) < 0)
-                        r = rotateLL(r);
-                    else
-                        r = rotateLR(r);
-                }
+        garantirCaminho();
+        int n = 0;
+        No r = raiz;
+
+        while (true) {
+            int c = comparador.compare(key, chave(r));
+
+            if (c == 0) {
+                // chave já existe: nada muda
+                limparCaminho(n);
+                return;
             }
-            else if (c > 0) {
-                // key > r.key -> insere à direita
-                r.dir = inserir(r.dir, e, key);
-                // Recalcula a altura do nó e verifica o balanceamento (RR ou RL)
-                r.h = altura(r);
-                if (fb(r) > 1) {
-                    if (comparador.compare(key, recuperaChave.apply(r.dir.item)) > 0)
-                        r = rotateRR(r);
-                    else
-                        r = rotateRL(r);
-                }
+
+            caminho[n] = r;
+            paraEsquerda[n] = c < 0;
+            n++;
+
+            No filho = c < 0 ? r.esq : r.dir;
+            if (filho == null) {
+                if (c < 0)
+                    r.esq = new No(e, key);
+                else
+                    r.dir = new No(e, key);
+                break;
             }
+            r = filho;
         }
 
-        return r;
-    }
+        quantidade++;
+        modificacoes++;
 
-    private No removerChave(No r, K key) {
-        if (r == null)
-            // key não encontrada -> retorna nulo
-            return null;
-        else {
-            int c = comparador.compare(key, recuperaChave.apply(r.item));
+        boolean alturaMudou = true;
+        for (int i = n - 1; i >= 0; i--) {
+            No p = no(caminho[i]);
+            p.tamanho++;
 
-            if (c < 0) {
-                // key < r.key -> remove à esquerda
-                r.esq = removerChave(r.esq, key);
-                // Recalcula a altura do nó e verifica o balanceamento (RR ou RL)
-                r.h = altura(r);
-                if (fb(r) > 1) {
-                    if (altura(r.dir.dir) > altura(r.dir.esq))
-                        r = rotateRR(r);
-                    else
-                        r = rotateRL(r);
-                }
-            }
-            else if (c > 0) {
-                // key > r.key -> remove à direita
-                r.dir = removerChave(r.dir, key);
-                // Recalcula a altura do nó e verifica o balanceamento (LL ou LR)
-                r.h = altura(r);
-                if (fb(r) > 1) {
-                    if (altura(r.esq.esq) > altura(r.esq.dir))
-                        r = rotateLL(r);
-                    else
-                        r = rotateLR(r);
-                }
+            if (!alturaMudou)
+                continue;
+
+            int hAntes = p.h;
+            p.h = altura(p);
+            if (fb(p) > 1) {
+                // depois de uma rotação na inserção a subárvore volta à altura anterior
+                religar(i, balancear(p));
+                alturaMudou = false;
             }
-            else {
-                // key = r.key -> remove r
-                // 1o caso: r é folha
-                if (r.esq == null && r.dir == null) {
-                    r = null;
-                    quantidade--;
-                } // 2o caso A: r com apenas um filho à esquerda
-                else if (r.esq != null && r.dir == null) {
-                    r = r.esq;
-                    quantidade--;
-                } // 2o caso B: r com apenas um filho à direita
-                else if (r.esq == null && r.dir != null) {
-                    r = r.dir;
-                    quantidade--;
-                } // 3o caso: r tem 2 filhos
-                else {
-                    // Descobre o maior nó da SAE OU o menor nó da SAD (tanto faz!)
-                    T m = maior(r.esq);
-                    r = removerChave(r, recuperaChave.apply(m));
-                    r.item = m;
+            else if (p.h == hAntes)
+                alturaMudou = false;
+        }
+
+        limparCaminho(n);
+    }
+
+    /**
+     * Aplica a rotação adequada a um nó cujas subárvores diferem em 2 de altura.
+     */
+    private No balancear(No r) {
+        if (altura(r.esq) > altura(r.dir)) {
+            if (altura(r.esq.esq) >= altura(r.esq.dir))
+                return rotateLL(r);
+            return rotateLR(r);
+        }
+
+        if (altura(r.dir.dir) >= altura(r.dir.esq))
+            return rotateRR(r);
+        return rotateRL(r);
+    }
+
+    /**
+     * Pendura no no lugar do nó caminho[i]: como filho de caminho[i - 1] ou como raiz.
+     */
+    private void religar(int i, No no) {
+        if (i == 0)
+            raiz = no;
+        else if (paraEsquerda[i - 1])
+            no(caminho[i - 1]).esq = no;
+        else
+            no(caminho[i - 1]).dir = no;
+    }
+
+    /**
+     * Garante espaço para um caminho da raiz até uma folha (h + 1 nós).
+     */
+    private void garantirCaminho() {
+        int necessario = raiz.h + 2;
+
+        if (caminho.length < necessario) {
+            caminho = new Object[2 * necessario];
+            paraEsquerda = new boolean[2 * necessario];
+        }
+    }
+
+    /**
+     * Solta as referências do caminho para não segurar nós removidos.
+     */
+    private void limparCaminho(int n) {
+        Arrays.fill(caminho, 0, n, null);
+    }
+
+    /**
+     * Resolve as sondas ordem[ini..fim) na subárvore r.
+     */
+    private void buscarLote(No r, K[] keys, int[] ordem, int ini, int fim, Object[] achados) {
+        while (r != null && ini < fim) {
+            K key = chave(r);
+            // [ini, meio) < key, [meio, fimIguais) = key, [fimIguais, fim) > key
+            int meio = primeiraSonda(keys, ordem, ini, fim, key, false);
+            int fimIguais = primeiraSonda(keys, ordem, meio, fim, key, true);
+
+            for (int i = meio; i < fimIguais; i++)
+                achados[ordem[i]] = r.item;
+
+            // recursão só na esquerda; a direita continua no laço
+            buscarLote(r.esq, keys, ordem, ini, meio, achados);
+            ini = fimIguais;
+            r = r.dir;
+        }
+    }
+
+    /**
+     * Ordena ordem[ini..fim) pela chave de cada índice, sem criar Integer:
+     * merge sort (estável) sobre o vetor de int, com inserção nos trechos
+     * pequenos. aux é o espaço de trabalho, do tamanho de ordem.
+     */
+    private void ordenarIndices(K[] keys, int[] ordem, int[] aux, int ini, int fim) {
+        if (fim - ini <= 16) {
+            for (int i = ini + 1; i < fim; i++) {
+                int x = ordem[i];
+                int j = i - 1;
+
+                while (j >= ini && comparador.compare(keys[ordem[j]], keys[x]) > 0) {
+                    ordem[j + 1] = ordem[j];
+                    j--;
                 }
+                ordem[j + 1] = x;
             }
+            return;
         }
 
-        return r;
+        int meio = (ini + fim) >>> 1;
+        ordenarIndices(keys, ordem, aux, ini, meio);
+        ordenarIndices(keys, ordem, aux, meio, fim);
+
+        // as metades já estão em sequência (lote em ordem crescente)
+        if (comparador.compare(keys[ordem[meio - 1]], keys[ordem[meio]]) <= 0)
+            return;
+
+        System.arraycopy(ordem, ini, aux, ini, fim - ini);
+        int i = ini;
+        int j = meio;
+        for (int k = ini; k < fim; k++) {
+            if (j >= fim || (i < meio && comparador.compare(keys[aux[i]], keys[aux[j]]) <= 0))
+                ordem[k] = aux[i++];
+            else
+                ordem[k] = aux[j++];
+        }
+    }
+
+    /**
+     * Busca binária em ordem[ini..fim) pela primeira sonda com chave >= key
+     * (ou > key, se estrita).
+     */
+    private int primeiraSonda(K[] keys, int[] ordem, int ini, int fim, K key, boolean estrita) {
+        while (ini < fim) {
+            int meio = (ini + fim) >>> 1;
+            int c = comparador.compare(keys[ordem[meio]], key);
+
+            if (c < 0 || (c == 0 && estrita))
+                ini = meio + 1;
+            else
+                fim = meio;
+        }
+
+        return ini;
+    }
+
+    /**
+     * Resultado de dividir uma subárvore por uma chave: os nós menores, o nó
+     * com a chave (ou null) e os maiores. Os filhos de igual ficam sem sentido.
+     */
+    private class Divisao {
+        private No esq;
+        private No igual;
+        private No dir;
+    }
+
+    /**
+     * Junta esq, o nó m e dir, sabendo que esq < m < dir, em O(|h(esq) - h(dir)|):
+     * desce pela borda da árvore mais alta até uma subárvore da altura da
+     * outra, pendura m ali e rebalanceia na volta.
+     */
+    private No juntar(No esq, No m, No dir) {
+        if (altura(esq) > altura(dir) + 1)
+            return juntarDireita(esq, m, dir);
+        if (altura(dir) > altura(esq) + 1)
+            return juntarEsquerda(esq, m, dir);
+
+        m.esq = esq;
+        m.dir = dir;
+        m.h = altura(m);
+        m.tamanho = tamanho(m);
+
+        return m;
+    }
+
+    /**
+     * esq é mais alta: m e dir entram na borda direita de esq.
+     */
+    private No juntarDireita(No esq, No m, No dir) {
+        if (altura(esq.dir) <= altura(dir) + 1) {
+            m.esq = esq.dir;
+            m.dir = dir;
+            m.h = altura(m);
+            m.tamanho = tamanho(m);
+            esq.dir = m;
+        }
+        else
+            esq.dir = juntarDireita(esq.dir, m, dir);
+
+        esq.h = altura(esq);
+        esq.tamanho = tamanho(esq);
+        if (fb(esq) <= 1)
+            return esq;
+
+        // a borda direita ficou 2 mais alta: RR ou, se cresceu por dentro, RL
+        if (altura(esq.dir.dir) >= altura(esq.dir.esq))
+            return rotateRR(esq);
+        return rotateRL(esq);
+    }
+
+    /**
+     * dir é mais alta: esq e m entram na borda esquerda de dir.
+     */
+    private No juntarEsquerda(No esq, No m, No dir) {
+        if (altura(dir.esq) <= altura(esq) + 1) {
+            m.esq = esq;
+            m.dir = dir.esq;
+            m.h = altura(m);
+            m.tamanho = tamanho(m);
+            dir.esq = m;
+        }
+        else
+            dir.esq = juntarEsquerda(esq, m, dir.esq);
+
+        dir.h = altura(dir);
+        dir.tamanho = tamanho(dir);
+        if (fb(dir) <= 1)
+            return dir;
+
+        if (altura(dir.esq.esq) >= altura(dir.esq.dir))
+            return rotateLL(dir);
+        return rotateLR(dir);
+    }
+
+    /**
+     * Junta esq < dir sem nó do meio: usa o maior nó de esq como meio.
+     */
+    private No juntar(No esq, No dir) {
+        if (esq == null)
+            return dir;
+        if (dir == null)
+            return esq;
+
+        Divisao d = new Divisao();
+        No resto = separarMaior(esq, d);
+
+        return juntar(resto, d.igual, dir);
+    }
+
+    /**
+     * Tira o maior nó de r (guardado em d.igual) e devolve o restante balanceado.
+     */
+    private No separarMaior(No r, Divisao d) {
+        if (r.dir == null) {
+            d.igual = r;
+            return r.esq;
+        }
+
+        No esq = r.esq;
+        No dir = separarMaior(r.dir, d);
+
+        return juntar(esq, r, dir);
+    }
+
+    /**
+     * Divide r em d.esq (chaves < key), d.igual e d.dir (chaves > key),
+     * em O(log n). Os nós de r são reaproveitados.
+     */
+    private void dividir(No r, K key, Divisao d) {
+        if (r == null) {
+            d.esq = null;
+            d.igual = null;
+            d.dir = null;
+            return;
+        }
+
+        int c = comparador.compare(key, chave(r));
+        No esq = r.esq;
+        No dir = r.dir;
+
+        if (c == 0) {
+            d.esq = esq;
+            d.igual = r;
+            d.dir = dir;
+        }
+        else if (c < 0) {
+            dividir(esq, key, d);
+            d.dir = juntar(d.dir, r, dir);
+        }
+        else {
+            dividir(dir, key, d);
+            d.esq = juntar(esq, r, d.esq);
+        }
+    }
+
+    /**
+     * Operação de conjunto entre a e b, reaproveitando os nós: b é dividida
+     * pela chave da raiz de a e as duas metades são resolvidas
+     * recursivamente (em paralelo, se grandes) e juntadas de volta, em
+     * O(m log(n/m + 1)). Nas chaves presentes nas duas fica o item de a.
+     */
+    private No combinar(Operacao op, No a, No b) {
+        if (a == null)
+            return op == Operacao.UNIAO ? b : null;
+        if (b == null)
+            return op == Operacao.INTERSECAO ? null : a;
+
+        No esqA = a.esq;
+        No dirA = a.dir;
+        boolean paralelo = a.tamanho + b.tamanho >= LIMIAR_PARALELO;
+
+        Divisao d = new Divisao();
+        dividir(b, chave(a), d);
+        No esqB = d.esq;
+        No dirB = d.dir;
+        boolean emAmbas = d.igual != null;
+
+        No esq, dir;
+        if (paralelo) {
+            // as duas metades não compartilham nós
+            OperacaoConjunto tarefaEsquerda = new OperacaoConjunto(op, esqA, esqB);
+            tarefaEsquerda.fork();
+            dir = combinar(op, dirA, dirB);
+            esq = tarefaEsquerda.join();
+        }
+        else {
+            esq = combinar(op, esqA, esqB);
+            dir = combinar(op, dirA, dirB);
+        }
+
+        boolean manterRaiz;
+        if (op == Operacao.UNIAO)
+            manterRaiz = true;
+        else if (op == Operacao.INTERSECAO)
+            manterRaiz = emAmbas;
+        else
+            manterRaiz = !emAmbas;
+
+        return manterRaiz ? juntar(esq, a, dir) : juntar(esq, dir);
+    }
+
+    /**
+     * Remove de r as chaves keys[ini..fim), que estão ordenadas.
+     */
+    private No diferenca(No r, Object[] keys, int ini, int fim) {
+        if (r == null || ini >= fim)
+            return r;
+
+        int meio = (ini + fim) >>> 1;
+        Divisao d = new Divisao();
+        dividir(r, chaveDe(keys[meio]), d);
+        No esq = d.esq;
+        No dir = d.dir;
+
+        return juntar(diferenca(esq, keys, ini, meio), diferenca(dir, keys, meio + 1, fim));
     }
 
     private T maior(No r) {
@@ -471,13 +1788,55 @@ public class AVL<T, K> implements IABB<T, K> {
         emOrdem(r.dir, visitante);
     }
 
+    private void intervalo(No r, K lo, K hi, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        K key = chave(r);
+        int cLo = comparador.compare(lo, key);
+        int cHi = comparador.compare(hi, key);
+
+        // só desce para o lado que ainda pode ter chaves do intervalo
+        if (cLo < 0)
+            intervalo(r.esq, lo, hi, visitante);
+        if (cLo <= 0 && cHi >= 0)
+            visitante.visita(r.item);
+        if (cHi > 0)
+            intervalo(r.dir, lo, hi, visitante);
+    }
+
+    private boolean intervaloAte(No r, K lo, K hi, VisitanteInterrompivel<T> visitante) {
+        if (r == null)
+            return true;
+
+        K key = chave(r);
+        int cLo = comparador.compare(lo, key);
+        int cHi = comparador.compare(hi, key);
+
+        if (cLo < 0 && !intervaloAte(r.esq, lo, hi, visitante))
+            return false;
+        if (cLo <= 0 && cHi >= 0 && !visitante.visita(r.item))
+            return false;
+        if (cHi > 0)
+            return intervaloAte(r.dir, lo, hi, visitante);
+
+        return true;
+    }
+
+    private boolean emOrdemAte(No r, VisitanteInterrompivel<T> visitante) {
+        if (r == null)
+            return true;
+
+        return emOrdemAte(r.esq, visitante) && visitante.visita(r.item) && emOrdemAte(r.dir, visitante);
+    }
+
     private void emOrdemInvertida(No r, Visitante<T> visitante) {
         if (r == null)
             return;
 
-        emOrdem(r.dir, visitante);
+        emOrdemInvertida(r.dir, visitante);
         visitante.visita(r.item);
-        emOrdem(r.esq, visitante);
+        emOrdemInvertida(r.esq, visitante);
     }
 
     private int altura(No r) {
@@ -490,6 +1849,16 @@ public class AVL<T, K> implements IABB<T, K> {
         return Math.max(he, hd) + 1;
     }
 
+    private int tamanho(No r) {
+        if (r == null)
+            return 0;
+
+        int te = r.esq == null ? 0 : r.esq.tamanho;
+        int td = r.dir == null ? 0 : r.dir.tamanho;
+
+        return te + td + 1;
+    }
+
     private int fb(No r) {
         int he = r.esq == null ? -1 : r.esq.h;
         int hd = r.dir == null ? -1 : r.dir.h;
@@ -504,6 +1873,8 @@ public class AVL<T, K> implements IABB<T, K> {
 
         r.h = altura(r);
         no.h = altura(no);
+        r.tamanho = tamanho(r);
+        no.tamanho = tamanho(no);
 
         return no;
     }
@@ -515,6 +1886,8 @@ public class AVL<T, K> implements IABB<T, K> {
 
         r.h = altura(r);
         no.h = altura(no);
+        r.tamanho = tamanho(r);
+        no.tamanho = tamanho(no);
 
         return no;
     }
@@ -0,0 +1,156 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * AVL segura para uso concorrente com um escritor por vez e leitores sem bloqueio.
+ *
+ * Os nós são imutáveis ({@link NoImutavel}): inserir e removerChave copiam só
+ * o caminho alterado e publicam a nova raiz numa única escrita volátil.
+ * Cada leitura (buscar, contemChave, emOrdem, codigo...) lê a raiz uma vez e
+ * trabalha sobre esse instantâneo imutável, sem locks e sem esperar escritores;
+ * o que ela enxerga é a árvore inteira antes ou depois de cada escrita,
+ * nunca um estado intermediário. As escritas são serializadas entre si.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class AVLConcorrente<T, K> implements IABB<T, K> {
+    private volatile NoImutavel<T> raiz;
+    private final Comparator<K> comparador;
+    private final Function<T, K> recuperaChave;
+
+    @SuppressWarnings("unchecked")
+    public AVLConcorrente() {
+        this.comparador = (o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); };
+        this.recuperaChave = (o) -> (K) o;
+    }
+
+    public AVLConcorrente(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+    }
+
+    @Override
+    public synchronized void inserir(T e) {
+        raiz = NoImutavel.inserir(raiz, e, recuperaChave.apply(e), comparador, recuperaChave);
+    }
+
+    @Override
+    public void remover(T e) {
+        removerChave(recuperaChave.apply(e));
+    }
+
+    @Override
+    public synchronized void removerChave(K key) {
+        raiz = NoImutavel.remover(raiz, key, comparador, recuperaChave);
+    }
+
+    /**
+     * Retorna, em O(1), uma versão persistente com o conteúdo atual da árvore.
+     * Escritas posteriores nesta árvore não afetam o instantâneo.
+     */
+    public AVLPersistente<T, K> instantaneo() {
+        return new AVLPersistente<>(raiz, comparador, recuperaChave);
+    }
+
+    @Override
+    public T buscar(K key) {
+        return NoImutavel.buscar(raiz, key, comparador, recuperaChave);
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return buscar(recuperaChave.apply(e)) != null;
+    }
+
+    @Override
+    public boolean contemChave(K key) {
+        return buscar(key) != null;
+    }
+
+    @Override
+    public T maior() {
+        return NoImutavel.maior(raiz);
+    }
+
+    @Override
+    public T menor() {
+        return NoImutavel.menor(raiz);
+    }
+
+    @Override
+    public int quantidade() {
+        return NoImutavel.tamanho(raiz);
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    @Override
+    public synchronized void removeTodos() {
+        raiz = null;
+    }
+
+    @Override
+    public void emOrdem(Visitante<T> visitante) {
+        NoImutavel.emOrdem(raiz, visitante);
+    }
+
+    @Override
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        NoImutavel.emOrdemInvertida(raiz, visitante);
+    }
+
+    @Override
+    public void nivel(int n, Visitante<T> visitante) {
+        NoImutavel.nivel(raiz, n, visitante);
+    }
+
+    @Override
+    public LSE<T> menorCaminho(T a, T b) {
+        return NoImutavel.menorCaminho(raiz, a, b, comparador, recuperaChave);
+    }
+
+    @Override
+    public String codigo(T a) {
+        return NoImutavel.codigo(raiz, a, comparador, recuperaChave);
+    }
+
+    @Override
+    public MaiorSoma maxSoma() {
+        return NoImutavel.maxSoma(raiz);
+    }
+
+    @Override
+    public T selecionar(int k) {
+        return NoImutavel.selecionar(raiz, k);
+    }
+
+    @Override
+    public int posto(K key) {
+        return NoImutavel.contarMenores(raiz, key, false, comparador, recuperaChave);
+    }
+
+    @Override
+    public int contarIntervalo(K lo, K hi) {
+        return NoImutavel.contarIntervalo(raiz, lo, hi, comparador, recuperaChave);
+    }
+
+    /**
+     * Retorna uma string com os itens da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        NoImutavel.imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+}
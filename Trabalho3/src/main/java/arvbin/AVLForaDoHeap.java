@@ -0,0 +1,606 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * AVL de chaves long cujos nós ficam fora do heap Java.
+ *
+ * Cada nó ocupa um registro de 32 bytes em memória direta:
+ * [chave long][valor long][esq int][dir int][h int][tamanho da subárvore int].
+ * Os registros são agrupados em blocos de 2^20 nós (32 MB) alocados sob
+ * demanda, de modo que crescer não copia os nós já existentes. O valor é uma
+ * carga inline (ou um "handle" para dados guardados em outro lugar).
+ *
+ * As operações primitivas (inserir(long), contemChave(long), emOrdemLong
+ * etc.) não criam nenhum objeto por nó; os métodos de IABB recebem e
+ * devolvem Long e por isso fazem boxing na fronteira.
+ * A memória só é devolvida ao sistema quando os blocos são coletados,
+ * ou seja, depois de removeTodos() ou quando a árvore deixa de ser usada.
+ */
+public class AVLForaDoHeap implements IABB<Long, Long> {
+    private static final int NULO = -1;
+
+    private static final int TAMANHO_NO = 32;
+    private static final int CHAVE = 0;
+    private static final int VALOR = 8;
+    private static final int ESQ = 16;
+    private static final int DIR = 20;
+    private static final int H = 24;
+    private static final int TAMANHO = 28;
+
+    private static final int BITS_BLOCO = 20;
+    private static final int NOS_POR_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = NOS_POR_BLOCO - 1;
+
+    private ByteBuffer[] blocos = new ByteBuffer[0];
+    private int raiz = NULO;
+    private int quantidade;
+    private int proximoSlot;
+    private int livre = NULO;
+
+    // os nós são as posições, vistas como Integer só enquanto menorCaminho desce
+    private final ABBBase.Navegacao<Integer, Long, Long> navegacao = new ABBBase.Navegacao<>() {
+        @Override
+        public int comparar(Long key, Integer r) {
+            return Long.compare(key, chave(r));
+        }
+
+        @Override
+        public Integer filho(Integer r, int c) {
+            int filho = c < 0 ? esq(r) : dir(r);
+            return filho == NULO ? null : filho;
+        }
+
+        @Override
+        public Long item(Integer r) {
+            return chave(r);
+        }
+    };
+
+    /**
+     * Insere a chave com valor 0 (se a chave já existir, nada muda).
+     */
+    public void inserir(long chave) {
+        inserir(chave, 0L);
+    }
+
+    /**
+     * Insere a chave com o valor associado; se a chave já existir, só o valor é atualizado.
+     */
+    public void inserir(long chave, long valor) {
+        raiz = inserir(raiz, chave, valor);
+    }
+
+    public void removerChave(long chave) {
+        raiz = removerChave(raiz, chave);
+    }
+
+    public boolean contemChave(long chave) {
+        return localizar(chave) != NULO;
+    }
+
+    /**
+     * Retorna o valor associado à chave; ou padrao, se a chave não existe.
+     */
+    public long buscarValor(long chave, long padrao) {
+        int r = localizar(chave);
+
+        return r == NULO ? padrao : valor(r);
+    }
+
+    public void emOrdemLong(VisitanteLong visitante) {
+        emOrdem(raiz, visitante);
+    }
+
+    public void emOrdemInvertidaLong(VisitanteLong visitante) {
+        emOrdemInvertida(raiz, visitante);
+    }
+
+    public void nivelLong(int n, VisitanteLong visitante) {
+        if (raiz == NULO || n < 0 || n > h(raiz)) {
+            System.out.println("Nivel nao existe");
+            return;
+        }
+
+        visitarNivel(raiz, n, visitante);
+    }
+
+    @Override
+    public void inserir(Long e) {
+        inserir(e.longValue());
+    }
+
+    @Override
+    public void remover(Long e) {
+        removerChave(e.longValue());
+    }
+
+    @Override
+    public void removerChave(Long key) {
+        removerChave(key.longValue());
+    }
+
+    @Override
+    public Long buscar(Long key) {
+        return contemChave(key.longValue()) ? key : null;
+    }
+
+    @Override
+    public boolean contem(Long e) {
+        return contemChave(e.longValue());
+    }
+
+    @Override
+    public boolean contemChave(Long key) {
+        return contemChave(key.longValue());
+    }
+
+    @Override
+    public Long maior() {
+        if (raiz == NULO)
+            return null;
+
+        int r = raiz;
+        while (dir(r) != NULO)
+            r = dir(r);
+
+        return chave(r);
+    }
+
+    @Override
+    public Long menor() {
+        if (raiz == NULO)
+            return null;
+
+        int r = raiz;
+        while (esq(r) != NULO)
+            r = esq(r);
+
+        return chave(r);
+    }
+
+    @Override
+    public int quantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return raiz == NULO;
+    }
+
+    @Override
+    public void removeTodos() {
+        blocos = new ByteBuffer[0];
+        raiz = NULO;
+        quantidade = 0;
+        proximoSlot = 0;
+        livre = NULO;
+    }
+
+    @Override
+    public void emOrdem(Visitante<Long> visitante) {
+        emOrdem(raiz, visitante::visita);
+    }
+
+    @Override
+    public void emOrdemInvertida(Visitante<Long> visitante) {
+        emOrdemInvertida(raiz, visitante::visita);
+    }
+
+    @Override
+    public void nivel(int n, Visitante<Long> visitante) {
+        nivelLong(n, visitante::visita);
+    }
+
+    @Override
+    public LSE<Long> menorCaminho(Long a, Long b) {
+        return ABBBase.menorCaminho(raiz == NULO ? null : raiz, a, b, navegacao);
+    }
+
+    @Override
+    public String codigo(Long a) {
+        long key = a;
+        StringBuilder codigo = new StringBuilder();
+        int r = raiz;
+
+        while (r != NULO) {
+            long c = chave(r);
+            if (key == c)
+                return codigo.toString();
+
+            if (key < c) {
+                codigo.append('0');
+                r = esq(r);
+            }
+            else {
+                codigo.append('1');
+                r = dir(r);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Os itens desta árvore são Long, então, como na AVL, maxSoma não se aplica.
+     */
+    @Override
+    public MaiorSoma maxSoma() {
+        if (raiz == NULO)
+            return new MaiorSoma("", 0);
+
+        throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+    }
+
+    /**
+     * Retorna a k-ésima menor chave (k a partir de 0).
+     * @throws IndexOutOfBoundsException se k for inválido
+     */
+    public long selecionarChave(int k) {
+        if (k < 0 || k >= quantidade)
+            throw new IndexOutOfBoundsException("Posicao invalida: " + k);
+
+        int r = raiz;
+        while (true) {
+            int te = tamanho(esq(r));
+
+            if (k < te)
+                r = esq(r);
+            else if (k == te)
+                return chave(r);
+            else {
+                k -= te + 1;
+                r = dir(r);
+            }
+        }
+    }
+
+    /**
+     * Quantidade de chaves menores que chave (ou menores ou iguais, se inclusivo).
+     */
+    public int contarMenores(long chave, boolean inclusivo) {
+        int qtd = 0;
+        int r = raiz;
+
+        while (r != NULO) {
+            long c = chave(r);
+
+            if (chave < c || (chave == c && !inclusivo))
+                r = esq(r);
+            else {
+                qtd += tamanho(esq(r)) + 1;
+                r = dir(r);
+            }
+        }
+
+        return qtd;
+    }
+
+    @Override
+    public Long selecionar(int k) {
+        return k < 0 || k >= quantidade ? null : selecionarChave(k);
+    }
+
+    @Override
+    public int posto(Long key) {
+        return contarMenores(key, false);
+    }
+
+    @Override
+    public int contarIntervalo(Long lo, Long hi) {
+        if (lo > hi)
+            return 0;
+
+        return contarMenores(hi, true) - contarMenores(lo, false);
+    }
+
+    private int localizar(long chave) {
+        int r = raiz;
+
+        while (r != NULO) {
+            long c = chave(r);
+
+            if (chave == c)
+                break;
+            r = chave < c ? esq(r) : dir(r);
+        }
+
+        return r;
+    }
+
+    private int inserir(int r, long chave, long valor) {
+        if (r == NULO) {
+            quantidade++;
+            return novoSlot(chave, valor);
+        }
+
+        long c = chave(r);
+
+        if (chave < c) {
+            esq(r, inserir(esq(r), chave, valor));
+            h(r, altura(r));
+            tamanho(r, tamanho(esq(r)) + tamanho(dir(r)) + 1);
+            if (fb(r) > 1) {
+                if (chave < chave(esq(r)))
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+        }
+        else if (chave > c) {
+            dir(r, inserir(dir(r), chave, valor));
+            h(r, altura(r));
+            tamanho(r, tamanho(esq(r)) + tamanho(dir(r)) + 1);
+            if (fb(r) > 1) {
+                if (chave > chave(dir(r)))
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+        else
+            valor(r, valor);
+
+        return r;
+    }
+
+    private int removerChave(int r, long chave) {
+        if (r == NULO)
+            return NULO;
+
+        long c = chave(r);
+
+        if (chave < c)
+            esq(r, removerChave(esq(r), chave));
+        else if (chave > c)
+            dir(r, removerChave(dir(r), chave));
+        else if (esq(r) == NULO || dir(r) == NULO) {
+            // folha ou apenas um filho: o slot de r volta para a lista livre
+            int filho = esq(r) != NULO ? esq(r) : dir(r);
+            liberarSlot(r);
+            quantidade--;
+            return filho;
+        }
+        else {
+            // 2 filhos: r assume a maior chave da SAE, que é removida de lá
+            int m = esq(r);
+            while (dir(m) != NULO)
+                m = dir(m);
+            chave(r, chave(m));
+            valor(r, valor(m));
+            esq(r, removerChave(esq(r), chave(m)));
+        }
+
+        return balancear(r);
+    }
+
+    private int balancear(int r) {
+        h(r, altura(r));
+        tamanho(r, tamanho(esq(r)) + tamanho(dir(r)) + 1);
+
+        if (fb(r) > 1) {
+            if (altura(esq(r)) > altura(dir(r))) {
+                if (altura(esq(esq(r))) >= altura(dir(esq(r))))
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+            else {
+                if (altura(dir(dir(r))) >= altura(esq(dir(r))))
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+
+        return r;
+    }
+
+    private int novoSlot(long chave, long valor) {
+        int slot;
+
+        if (livre != NULO) {
+            slot = livre;
+            livre = esq(slot);
+        }
+        else {
+            if (proximoSlot == Integer.MAX_VALUE)
+                throw new IllegalStateException("Capacidade maxima da arvore atingida");
+            if ((proximoSlot >>> BITS_BLOCO) == blocos.length)
+                novoBloco();
+            slot = proximoSlot++;
+        }
+
+        chave(slot, chave);
+        valor(slot, valor);
+        esq(slot, NULO);
+        dir(slot, NULO);
+        h(slot, 0);
+        tamanho(slot, 1);
+
+        return slot;
+    }
+
+    private void liberarSlot(int slot) {
+        esq(slot, livre);
+        livre = slot;
+    }
+
+    private void novoBloco() {
+        blocos = Arrays.copyOf(blocos, blocos.length + 1);
+        blocos[blocos.length - 1] = ByteBuffer.allocateDirect(NOS_POR_BLOCO * TAMANHO_NO)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    private ByteBuffer bloco(int slot) {
+        return blocos[slot >>> BITS_BLOCO];
+    }
+
+    private int deslocamento(int slot, int campo) {
+        return (slot & MASCARA_BLOCO) * TAMANHO_NO + campo;
+    }
+
+    private long chave(int r) {
+        return bloco(r).getLong(deslocamento(r, CHAVE));
+    }
+
+    private void chave(int r, long chave) {
+        bloco(r).putLong(deslocamento(r, CHAVE), chave);
+    }
+
+    private long valor(int r) {
+        return bloco(r).getLong(deslocamento(r, VALOR));
+    }
+
+    private void valor(int r, long valor) {
+        bloco(r).putLong(deslocamento(r, VALOR), valor);
+    }
+
+    private int esq(int r) {
+        return bloco(r).getInt(deslocamento(r, ESQ));
+    }
+
+    private void esq(int r, int filho) {
+        bloco(r).putInt(deslocamento(r, ESQ), filho);
+    }
+
+    private int dir(int r) {
+        return bloco(r).getInt(deslocamento(r, DIR));
+    }
+
+    private void dir(int r, int filho) {
+        bloco(r).putInt(deslocamento(r, DIR), filho);
+    }
+
+    private int h(int r) {
+        return bloco(r).getInt(deslocamento(r, H));
+    }
+
+    private void h(int r, int h) {
+        bloco(r).putInt(deslocamento(r, H), h);
+    }
+
+    /**
+     * Tamanho da subárvore r (0 para NULO).
+     */
+    private int tamanho(int r) {
+        return r == NULO ? 0 : bloco(r).getInt(deslocamento(r, TAMANHO));
+    }
+
+    private void tamanho(int r, int tamanho) {
+        bloco(r).putInt(deslocamento(r, TAMANHO), tamanho);
+    }
+
+    private void visitarNivel(int r, int n, VisitanteLong visitante) {
+        if (r == NULO)
+            return;
+
+        if (n == 0) {
+            visitante.visita(chave(r));
+            return;
+        }
+
+        visitarNivel(esq(r), n - 1, visitante);
+        visitarNivel(dir(r), n - 1, visitante);
+    }
+
+    private void emOrdem(int r, VisitanteLong visitante) {
+        if (r == NULO)
+            return;
+
+        emOrdem(esq(r), visitante);
+        visitante.visita(chave(r));
+        emOrdem(dir(r), visitante);
+    }
+
+    private void emOrdemInvertida(int r, VisitanteLong visitante) {
+        if (r == NULO)
+            return;
+
+        emOrdemInvertida(dir(r), visitante);
+        visitante.visita(chave(r));
+        emOrdemInvertida(esq(r), visitante);
+    }
+
+    private int altura(int r) {
+        if (r == NULO)
+            return -1;
+
+        int he = esq(r) == NULO ? -1 : h(esq(r));
+        int hd = dir(r) == NULO ? -1 : h(dir(r));
+
+        return Math.max(he, hd) + 1;
+    }
+
+    private int fb(int r) {
+        int he = esq(r) == NULO ? -1 : h(esq(r));
+        int hd = dir(r) == NULO ? -1 : h(dir(r));
+
+        return Math.abs(he - hd);
+    }
+
+    private int rotateLL(int r) {
+        int no = esq(r);
+        esq(r, dir(no));
+        dir(no, r);
+
+        h(r, altura(r));
+        h(no, altura(no));
+        tamanho(r, tamanho(esq(r)) + tamanho(dir(r)) + 1);
+        tamanho(no, tamanho(esq(no)) + tamanho(dir(no)) + 1);
+
+        return no;
+    }
+
+    private int rotateRR(int r) {
+        int no = dir(r);
+        dir(r, esq(no));
+        esq(no, r);
+
+        h(r, altura(r));
+        h(no, altura(no));
+        tamanho(r, tamanho(esq(r)) + tamanho(dir(r)) + 1);
+        tamanho(no, tamanho(esq(no)) + tamanho(dir(no)) + 1);
+
+        return no;
+    }
+
+    private int rotateLR(int r) {
+        esq(r, rotateRR(esq(r)));
+        return rotateLL(r);
+    }
+
+    private int rotateRL(int r) {
+        dir(r, rotateLL(dir(r)));
+        return rotateRR(r);
+    }
+
+    /**
+     * Retorna uma string com as chaves da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+
+    private void imprime(int r, int nivel, StringBuilder buffer) {
+        if (r == NULO)
+            return;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(chave(r));
+        buffer.append("\n");
+
+        imprime(esq(r), nivel + 1, buffer);
+        imprime(dir(r), nivel + 1, buffer);
+    }
+}
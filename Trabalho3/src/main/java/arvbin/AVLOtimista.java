@@ -0,0 +1,1020 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * AVL concorrente com travas por nó e leituras otimistas, no estilo de
+ * Bronson, Casper, Chafi e Olukotun ("A Practical Concurrent Binary Search Tree").
+ *
+ * Cada nó tem uma palavra de versão. Uma rotação trava só os nós que mexe
+ * (pai, nó e filho/neto) e marca como "encolhendo" os nós cuja subárvore
+ * perde chaves. Os leitores descem sem travas, conferindo a versão do nó
+ * anterior depois de ler o filho, e refazem o trecho se ela mudou.
+ * Remoções de nós com 2 filhos apenas apagam o item, deixando um nó de
+ * roteamento, que é desligado quando passa a ter menos de 2 filhos.
+ * quantidade() usa um contador distribuído (LongAdder).
+ *
+ * buscar, contem, inserir e remover são linearizáveis. emOrdem e
+ * emOrdemInvertida são fracamente consistentes: visitam os itens em ordem,
+ * uma vez cada, e não perdem os que ficaram na árvore o tempo todo.
+ * As consultas que dependem da forma (nivel, menorCaminho, codigo, maxSoma)
+ * são apenas melhor esforço sob concorrência e ignoram os nós de roteamento
+ * (em maxSoma eles valem 0).
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class AVLOtimista<T, K> implements IABB<T, K> {
+    private static final Object REFAZER = new Object();
+
+    // bits da versão: desligado, encolhendo; o restante conta as mudanças
+    private static final long DESLIGADO = 1L;
+    private static final long ENCOLHENDO = 2L;
+    private static final long BITS_MUDANCA = DESLIGADO | ENCOLHENDO;
+
+    private static final int NADA_A_FAZER = -1;
+    private static final int DESLIGAR = -2;
+    private static final int REBALANCEAR = -3;
+
+    private static final int ESPERA_ATIVA = 100;
+
+    private final Comparator<K> comparador;
+    private final Function<T, K> recuperaChave;
+    // sentinela: a árvore de verdade fica à direita
+    private final No raiz = new No(null, null, null);
+    private final LongAdder quantidade = new LongAdder();
+
+    // os nós de roteamento (item null) ficam fora do caminho
+    private final ABBBase.Navegacao<No, T, K> navegacao = new ABBBase.Navegacao<>() {
+        @Override
+        public int comparar(K key, No no) {
+            return comparador.compare(key, no.chave);
+        }
+
+        @Override
+        public No filho(No no, int c) {
+            return no.filho(c);
+        }
+
+        @Override
+        public T item(No no) {
+            return no.item;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    public AVLOtimista() {
+        this.comparador = (o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); };
+        this.recuperaChave = (o) -> (K) o;
+    }
+
+    public AVLOtimista(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+    }
+
+    private class No {
+        private final K chave;
+        // null -> nó de roteamento (item removido)
+        private volatile T item;
+        // folha = 1, subárvore vazia = 0
+        private volatile int h;
+        private volatile long versao;
+        private volatile No pai;
+        private volatile No esq;
+        private volatile No dir;
+
+        public No(K chave, T item, No pai) {
+            this.chave = chave;
+            this.item = item;
+            this.pai = pai;
+            this.h = 1;
+        }
+
+        No filho(int c) {
+            return c < 0 ? esq : dir;
+        }
+
+        void filho(int c, No no) {
+            if (c < 0)
+                esq = no;
+            else
+                dir = no;
+        }
+    }
+
+    @Override
+    public void inserir(T e) {
+        if (atualizar(recuperaChave.apply(e), e) == null)
+            quantidade.increment();
+    }
+
+    @Override
+    public void remover(T e) {
+        removerChave(recuperaChave.apply(e));
+    }
+
+    @Override
+    public void removerChave(K key) {
+        if (atualizar(key, null) != null)
+            quantidade.decrement();
+    }
+
+    @Override
+    public T buscar(K key) {
+        while (true) {
+            Object r = tentarBuscar(key, raiz, 1, 0L);
+            if (r != REFAZER)
+                return item(r);
+        }
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return buscar(recuperaChave.apply(e)) != null;
+    }
+
+    @Override
+    public boolean contemChave(K key) {
+        return buscar(key) != null;
+    }
+
+    @Override
+    public T maior() {
+        return vizinho(null, false);
+    }
+
+    @Override
+    public T menor() {
+        return vizinho(null, true);
+    }
+
+    @Override
+    public int quantidade() {
+        return (int) quantidade.sum();
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return quantidade() == 0;
+    }
+
+    /**
+     * Esvazia a árvore. Não é atômica em relação a escritas concorrentes.
+     */
+    @Override
+    public void removeTodos() {
+        synchronized (raiz) {
+            raiz.dir = null;
+            raiz.h = 1;
+            quantidade.reset();
+        }
+    }
+
+    /**
+     * Cada passo busca, com leitura otimista, o item seguinte ao último
+     * visitado: O(n log n), mas os itens saem em ordem, sem repetição, e todo
+     * item que esteve na árvore durante o percurso inteiro é visitado, mesmo
+     * com rotações concorrentes.
+     */
+    @Override
+    public void emOrdem(Visitante<T> visitante) {
+        for (T item = vizinho(null, true); item != null; item = vizinho(recuperaChave.apply(item), true))
+            visitante.visita(item);
+    }
+
+    /**
+     * Mesmas garantias de {@link #emOrdem(Visitante)}.
+     */
+    @Override
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        for (T item = vizinho(null, false); item != null; item = vizinho(recuperaChave.apply(item), false))
+            visitante.visita(item);
+    }
+
+    @Override
+    public void nivel(int n, Visitante<T> visitante) {
+        No r = raiz.dir;
+
+        if (r == null || n < 0 || n > r.h - 1) {
+            System.out.println("Nivel nao existe");
+            return;
+        }
+
+        visitarNivel(r, n, visitante);
+    }
+
+    @Override
+    public LSE<T> menorCaminho(T a, T b) {
+        // um item removido no meio da descida deixa o nó como roteamento:
+        // os extremos são conferidos antes, e o resto é melhor esforço
+        if (!contem(a) || !contem(b))
+            return new LSE<>();
+
+        return ABBBase.menorCaminho(raiz.dir, recuperaChave.apply(a), recuperaChave.apply(b), navegacao);
+    }
+
+    @Override
+    public String codigo(T a) {
+        K key = recuperaChave.apply(a);
+        StringBuilder codigo = new StringBuilder();
+        No r = raiz.dir;
+
+        while (r != null) {
+            int c = comparador.compare(key, r.chave);
+            if (c == 0)
+                return r.item == null ? null : codigo.toString();
+
+            codigo.append(c < 0 ? '0' : '1');
+            r = r.filho(c);
+        }
+
+        return null;
+    }
+
+    @Override
+    public MaiorSoma maxSoma() {
+        return maxSomaRecursivo(raiz.dir);
+    }
+
+    /**
+     * Percorre a árvore em ordem até o k-ésimo item: O(n). Os nós não guardam
+     * o tamanho da subárvore, pois mantê-lo exigiria travar o caminho inteiro
+     * até a raiz a cada escrita.
+     */
+    @Override
+    public T selecionar(int k) {
+        if (k < 0)
+            return null;
+
+        Object[] achado = new Object[1];
+        selecionar(raiz.dir, k, achado);
+
+        return item(achado[0]);
+    }
+
+    /**
+     * O(n), pelo mesmo motivo de {@link #selecionar(int)}.
+     */
+    @Override
+    public int posto(K key) {
+        return contarMenores(raiz.dir, key, false);
+    }
+
+    /**
+     * O(n), pelo mesmo motivo de {@link #selecionar(int)}.
+     */
+    @Override
+    public int contarIntervalo(K lo, K hi) {
+        if (comparador.compare(lo, hi) > 0)
+            return 0;
+
+        return contarMenores(raiz.dir, hi, true) - contarMenores(raiz.dir, lo, false);
+    }
+
+    /**
+     * @return quantos itens ainda faltam pular depois de percorrer r
+     */
+    private int selecionar(No r, int k, Object[] achado) {
+        if (r == null || achado[0] != null)
+            return k;
+
+        k = selecionar(r.esq, k, achado);
+        if (achado[0] != null)
+            return k;
+
+        T item = r.item;
+        if (item != null) {
+            if (k == 0) {
+                achado[0] = item;
+                return k;
+            }
+            k--;
+        }
+
+        return selecionar(r.dir, k, achado);
+    }
+
+    private int contarMenores(No r, K key, boolean inclusivo) {
+        if (r == null)
+            return 0;
+
+        int c = comparador.compare(key, r.chave);
+        if (c < 0 || (c == 0 && !inclusivo))
+            return contarMenores(r.esq, key, inclusivo);
+
+        return contarTodos(r.esq) + (r.item != null ? 1 : 0) + contarMenores(r.dir, key, inclusivo);
+    }
+
+    private int contarTodos(No r) {
+        if (r == null)
+            return 0;
+
+        return contarTodos(r.esq) + (r.item != null ? 1 : 0) + contarTodos(r.dir);
+    }
+
+    private MaiorSoma maxSomaRecursivo(No r) {
+        if (r == null)
+            return new MaiorSoma("", 0);
+
+        T item = r.item;
+        if (item != null && !(item instanceof Integer))
+            throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+        int valorNoAtual = item == null ? 0 : (Integer) item;
+
+        No esq = r.esq;
+        No dir = r.dir;
+        if (esq == null && dir == null)
+            return new MaiorSoma("", valorNoAtual);
+
+        MaiorSoma esquerda = maxSomaRecursivo(esq);
+        MaiorSoma direita = maxSomaRecursivo(dir);
+
+        if (esquerda.valor >= direita.valor)
+            return new MaiorSoma("E" + esquerda.caminho, valorNoAtual + esquerda.valor);
+        else
+            return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
+    }
+
+    /*
+     * Leitura otimista: 'no' foi lido com a versão versaoNo; a chave está na
+     * subárvore do lado c. Se a versão de 'no' mudar, o chamador refaz.
+     */
+    private Object tentarBuscar(K key, No no, int c, long versaoNo) {
+        while (true) {
+            No filho = no.filho(c);
+
+            if (filho == null) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+                return null;
+            }
+
+            int proximo = comparador.compare(key, filho.chave);
+            if (proximo == 0)
+                return filho.item;
+
+            long versaoFilho = filho.versao;
+            if ((versaoFilho & BITS_MUDANCA) != 0) {
+                esperarMudanca(filho);
+                if (no.versao != versaoNo)
+                    return REFAZER;
+            }
+            else if (filho != no.filho(c)) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+            }
+            else {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+
+                Object r = tentarBuscar(key, filho, proximo, versaoFilho);
+                if (r != REFAZER)
+                    return r;
+            }
+        }
+    }
+
+    /**
+     * Item de menor chave maior que key (acima) ou de maior chave menor que
+     * key; key null não limita, dando o menor ou o maior item.
+     */
+    private T vizinho(K key, boolean acima) {
+        while (true) {
+            Object r = tentarVizinho(key, acima, raiz, 1, 0L);
+            if (r != REFAZER)
+                return item(r);
+        }
+    }
+
+    /*
+     * Leitura otimista como a de tentarBuscar: procura o vizinho na subárvore
+     * do lado c de 'no', lido com a versão versaoNo.
+     */
+    private Object tentarVizinho(K key, boolean acima, No no, int c, long versaoNo) {
+        while (true) {
+            No filho = no.filho(c);
+
+            if (filho == null) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+                return null;
+            }
+
+            long versaoFilho = filho.versao;
+            if ((versaoFilho & BITS_MUDANCA) != 0) {
+                esperarMudanca(filho);
+                if (no.versao != versaoNo)
+                    return REFAZER;
+            }
+            else if (filho != no.filho(c)) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+            }
+            else {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+
+                Object r = vizinhoEm(key, acima, filho, versaoFilho);
+                if (r != REFAZER)
+                    return r;
+            }
+        }
+    }
+
+    /*
+     * Procura o vizinho na subárvore de 'no', já validado com versaoNo: primeiro
+     * do lado mais perto de key, depois o próprio nó e por fim o outro lado.
+     */
+    private Object vizinhoEm(K key, boolean acima, No no, long versaoNo) {
+        int perto = acima ? -1 : 1;
+
+        if (key == null || Integer.signum(comparador.compare(key, no.chave)) == perto) {
+            Object r = tentarVizinho(key, acima, no, perto, versaoNo);
+            if (r != null)
+                return r;
+
+            T item = no.item;
+            if (item != null) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+                return item;
+            }
+        }
+
+        return tentarVizinho(key, acima, no, -perto, versaoNo);
+    }
+
+    /**
+     * Insere (se ausente) quando novo != null, ou remove quando novo == null.
+     * @return item anterior com a chave; ou null, se não havia
+     */
+    private T atualizar(K key, T novo) {
+        while (true) {
+            No direita = raiz.dir;
+
+            if (direita == null) {
+                if (novo == null)
+                    return null;
+
+                synchronized (raiz) {
+                    if (raiz.dir == null) {
+                        raiz.dir = new No(key, novo, raiz);
+                        raiz.h = 2;
+                        return null;
+                    }
+                }
+            }
+            else {
+                long versao = direita.versao;
+
+                if ((versao & BITS_MUDANCA) != 0)
+                    esperarMudanca(direita);
+                else if (direita == raiz.dir) {
+                    Object r = tentarAtualizar(key, novo, raiz, direita, versao);
+                    if (r != REFAZER)
+                        return item(r);
+                }
+            }
+        }
+    }
+
+    private Object tentarAtualizar(K key, T novo, No pai, No no, long versaoNo) {
+        int c = comparador.compare(key, no.chave);
+        if (c == 0)
+            return atualizarNo(novo, pai, no);
+
+        while (true) {
+            No filho = no.filho(c);
+
+            if (no.versao != versaoNo)
+                return REFAZER;
+
+            if (filho == null) {
+                // chave ausente
+                if (novo == null)
+                    return null;
+
+                No danificado;
+                synchronized (no) {
+                    if (no.versao != versaoNo)
+                        return REFAZER;
+                    if (no.filho(c) != null)
+                        // alguém inseriu aqui antes: tenta de novo a partir de 'no'
+                        continue;
+
+                    no.filho(c, new No(key, novo, no));
+                    danificado = corrigirAltura(no);
+                }
+                corrigirAlturaERebalancear(danificado);
+                return null;
+            }
+
+            long versaoFilho = filho.versao;
+            if ((versaoFilho & BITS_MUDANCA) != 0)
+                esperarMudanca(filho);
+            else if (filho == no.filho(c)) {
+                if (no.versao != versaoNo)
+                    return REFAZER;
+
+                Object r = tentarAtualizar(key, novo, no, filho, versaoFilho);
+                if (r != REFAZER)
+                    return r;
+            }
+        }
+    }
+
+    private Object atualizarNo(T novo, No pai, No no) {
+        if (novo == null) {
+            if (no.item == null)
+                return null;
+
+            if (no.esq == null || no.dir == null) {
+                // remoção que desliga o nó: trava pai e nó
+                T anterior;
+                No danificado;
+                synchronized (pai) {
+                    if ((pai.versao & DESLIGADO) != 0 || no.pai != pai)
+                        return REFAZER;
+
+                    synchronized (no) {
+                        anterior = no.item;
+                        if (anterior == null)
+                            return null;
+                        if (!tentarDesligar(pai, no))
+                            return REFAZER;
+                    }
+                    danificado = corrigirAltura(pai);
+                }
+                corrigirAlturaERebalancear(danificado);
+                return anterior;
+            }
+        }
+
+        synchronized (no) {
+            if ((no.versao & DESLIGADO) != 0)
+                return REFAZER;
+
+            T anterior = no.item;
+            if (novo != null) {
+                // inserir não substitui: só ocupa um nó de roteamento
+                if (anterior == null)
+                    no.item = novo;
+                return anterior;
+            }
+
+            if (anterior == null)
+                return null;
+            if (no.esq == null || no.dir == null)
+                // perdeu um filho enquanto isso: precisa desligar
+                return REFAZER;
+
+            no.item = null;
+            return anterior;
+        }
+    }
+
+    /**
+     * Desliga 'no' (com no máximo um filho) de 'pai'. Ambos devem estar travados.
+     */
+    private boolean tentarDesligar(No pai, No no) {
+        No paiEsq = pai.esq;
+        No paiDir = pai.dir;
+        if (paiEsq != no && paiDir != no)
+            return false;
+
+        No esq = no.esq;
+        No dir = no.dir;
+        if (esq != null && dir != null)
+            return false;
+
+        No substituto = esq != null ? esq : dir;
+        if (paiEsq == no)
+            pai.esq = substituto;
+        else
+            pai.dir = substituto;
+        if (substituto != null)
+            substituto.pai = pai;
+
+        no.versao = DESLIGADO;
+        no.item = null;
+        return true;
+    }
+
+    private int h(No r) {
+        return r == null ? 0 : r.h;
+    }
+
+    private int condicao(No no) {
+        No esq = no.esq;
+        No dir = no.dir;
+
+        if ((esq == null || dir == null) && no.item == null)
+            return DESLIGAR;
+
+        int hN = no.h;
+        int he = h(esq);
+        int hd = h(dir);
+        int hNova = 1 + Math.max(he, hd);
+        int fb = he - hd;
+
+        if (fb < -1 || fb > 1)
+            return REBALANCEAR;
+
+        return hN != hNova ? hNova : NADA_A_FAZER;
+    }
+
+    /**
+     * Atualiza a altura de 'no' (travado) e retorna o próximo nó que precisa de
+     * atenção; ou null, se nada mais precisa ser feito.
+     */
+    private No corrigirAltura(No no) {
+        int c = condicao(no);
+
+        switch (c) {
+            case REBALANCEAR:
+            case DESLIGAR:
+                return no;
+            case NADA_A_FAZER:
+                return null;
+            default:
+                no.h = c;
+                return no.pai;
+        }
+    }
+
+    private void corrigirAlturaERebalancear(No no) {
+        while (no != null && no.pai != null) {
+            int c = condicao(no);
+            if (c == NADA_A_FAZER || (no.versao & DESLIGADO) != 0)
+                return;
+
+            if (c != DESLIGAR && c != REBALANCEAR) {
+                synchronized (no) {
+                    no = corrigirAltura(no);
+                }
+            }
+            else {
+                No pai = no.pai;
+                synchronized (pai) {
+                    if ((pai.versao & DESLIGADO) == 0 && no.pai == pai) {
+                        synchronized (no) {
+                            no = rebalancear(pai, no);
+                        }
+                    }
+                    // senão tenta de novo com o mesmo nó
+                }
+            }
+        }
+    }
+
+    private No rebalancear(No pai, No no) {
+        No esq = no.esq;
+        No dir = no.dir;
+
+        if ((esq == null || dir == null) && no.item == null) {
+            if (tentarDesligar(pai, no))
+                return corrigirAltura(pai);
+            return no;
+        }
+
+        int hN = no.h;
+        int he = h(esq);
+        int hd = h(dir);
+        int hNova = 1 + Math.max(he, hd);
+        int fb = he - hd;
+
+        if (fb > 1)
+            return rebalancearParaDireita(pai, no, esq, hd);
+        else if (fb < -1)
+            return rebalancearParaEsquerda(pai, no, dir, he);
+        else if (hNova != hN) {
+            no.h = hNova;
+            return corrigirAltura(pai);
+        }
+
+        return null;
+    }
+
+    private No rebalancearParaDireita(No pai, No no, No esq, int hd) {
+        synchronized (esq) {
+            int he = esq.h;
+            if (he - hd <= 1)
+                return no;
+
+            No esqDir = esq.dir;
+            int heEsq = h(esq.esq);
+            int heDir = h(esqDir);
+            if (heEsq >= heDir)
+                return rotacionarDireita(pai, no, esq, hd, heEsq, esqDir, heDir);
+
+            synchronized (esqDir) {
+                int hED = esqDir.h;
+                if (heEsq >= hED)
+                    return rotacionarDireita(pai, no, esq, hd, heEsq, esqDir, hED);
+
+                int hEDE = h(esqDir.esq);
+                int b = heEsq - hEDE;
+                if (b >= -1 && b <= 1 && !((heEsq == 0 || hEDE == 0) && esq.item == null))
+                    return rotacionarDireitaSobreEsquerda(pai, no, esq, hd, heEsq, esqDir, hEDE);
+            }
+
+            return rebalancearParaEsquerda(no, esq, esqDir, heEsq);
+        }
+    }
+
+    private No rebalancearParaEsquerda(No pai, No no, No dir, int he) {
+        synchronized (dir) {
+            int hd = dir.h;
+            if (hd - he <= 1)
+                return no;
+
+            No dirEsq = dir.esq;
+            int hdDir = h(dir.dir);
+            int hdEsq = h(dirEsq);
+            if (hdDir >= hdEsq)
+                return rotacionarEsquerda(pai, no, dir, he, hdDir, dirEsq, hdEsq);
+
+            synchronized (dirEsq) {
+                int hDE = dirEsq.h;
+                if (hdDir >= hDE)
+                    return rotacionarEsquerda(pai, no, dir, he, hdDir, dirEsq, hDE);
+
+                int hDED = h(dirEsq.dir);
+                int b = hdDir - hDED;
+                if (b >= -1 && b <= 1 && !((hdDir == 0 || hDED == 0) && dir.item == null))
+                    return rotacionarEsquerdaSobreDireita(pai, no, dir, he, hdDir, dirEsq, hDED);
+            }
+
+            return rebalancearParaDireita(no, dir, dirEsq, hdDir);
+        }
+    }
+
+    private No rotacionarDireita(No pai, No no, No esq, int hd, int heEsq, No esqDir, int heDir) {
+        long versaoNo = no.versao;
+        No paiEsq = pai.esq;
+
+        no.versao = versaoNo | ENCOLHENDO;
+
+        no.esq = esqDir;
+        if (esqDir != null)
+            esqDir.pai = no;
+
+        esq.dir = no;
+        no.pai = esq;
+
+        if (paiEsq == no)
+            pai.esq = esq;
+        else
+            pai.dir = esq;
+        esq.pai = pai;
+
+        int hNova = 1 + Math.max(heDir, hd);
+        no.h = hNova;
+        esq.h = 1 + Math.max(heEsq, hNova);
+
+        no.versao = fimMudanca(versaoNo);
+
+        int fbNo = heDir - hd;
+        if (fbNo < -1 || fbNo > 1)
+            return no;
+        if ((esqDir == null || hd == 0) && no.item == null)
+            return no;
+
+        int fbEsq = heEsq - hNova;
+        if (fbEsq < -1 || fbEsq > 1)
+            return esq;
+        if (heEsq == 0 && esq.item == null)
+            return esq;
+
+        return corrigirAltura(pai);
+    }
+
+    private No rotacionarEsquerda(No pai, No no, No dir, int he, int hdDir, No dirEsq, int hdEsq) {
+        long versaoNo = no.versao;
+        No paiEsq = pai.esq;
+
+        no.versao = versaoNo | ENCOLHENDO;
+
+        no.dir = dirEsq;
+        if (dirEsq != null)
+            dirEsq.pai = no;
+
+        dir.esq = no;
+        no.pai = dir;
+
+        if (paiEsq == no)
+            pai.esq = dir;
+        else
+            pai.dir = dir;
+        dir.pai = pai;
+
+        int hNova = 1 + Math.max(he, hdEsq);
+        no.h = hNova;
+        dir.h = 1 + Math.max(hNova, hdDir);
+
+        no.versao = fimMudanca(versaoNo);
+
+        int fbNo = he - hdEsq;
+        if (fbNo < -1 || fbNo > 1)
+            return no;
+        if ((dirEsq == null || he == 0) && no.item == null)
+            return no;
+
+        int fbDir = hdDir - hNova;
+        if (fbDir < -1 || fbDir > 1)
+            return dir;
+        if (hdDir == 0 && dir.item == null)
+            return dir;
+
+        return corrigirAltura(pai);
+    }
+
+    private No rotacionarDireitaSobreEsquerda(No pai, No no, No esq, int hd, int heEsq, No esqDir, int hEDE) {
+        long versaoNo = no.versao;
+        long versaoEsq = esq.versao;
+
+        No paiEsq = pai.esq;
+        No esqDirEsq = esqDir.esq;
+        No esqDirDir = esqDir.dir;
+        int hEDD = h(esqDirDir);
+
+        no.versao = versaoNo | ENCOLHENDO;
+        esq.versao = versaoEsq | ENCOLHENDO;
+
+        no.esq = esqDirDir;
+        if (esqDirDir != null)
+            esqDirDir.pai = no;
+
+        esq.dir = esqDirEsq;
+        if (esqDirEsq != null)
+            esqDirEsq.pai = esq;
+
+        esqDir.esq = esq;
+        esq.pai = esqDir;
+        esqDir.dir = no;
+        no.pai = esqDir;
+
+        if (paiEsq == no)
+            pai.esq = esqDir;
+        else
+            pai.dir = esqDir;
+        esqDir.pai = pai;
+
+        int hNova = 1 + Math.max(hEDD, hd);
+        no.h = hNova;
+        int hEsqNova = 1 + Math.max(heEsq, hEDE);
+        esq.h = hEsqNova;
+        esqDir.h = 1 + Math.max(hEsqNova, hNova);
+
+        no.versao = fimMudanca(versaoNo);
+        esq.versao = fimMudanca(versaoEsq);
+
+        int fbNo = hEDD - hd;
+        if (fbNo < -1 || fbNo > 1)
+            return no;
+        if ((esqDirDir == null || hd == 0) && no.item == null)
+            return no;
+
+        int fbED = hEsqNova - hNova;
+        if (fbED < -1 || fbED > 1)
+            return esqDir;
+
+        return corrigirAltura(pai);
+    }
+
+    private No rotacionarEsquerdaSobreDireita(No pai, No no, No dir, int he, int hdDir, No dirEsq, int hDED) {
+        long versaoNo = no.versao;
+        long versaoDir = dir.versao;
+
+        No paiEsq = pai.esq;
+        No dirEsqEsq = dirEsq.esq;
+        No dirEsqDir = dirEsq.dir;
+        int hDEE = h(dirEsqEsq);
+
+        no.versao = versaoNo | ENCOLHENDO;
+        dir.versao = versaoDir | ENCOLHENDO;
+
+        no.dir = dirEsqEsq;
+        if (dirEsqEsq != null)
+            dirEsqEsq.pai = no;
+
+        dir.esq = dirEsqDir;
+        if (dirEsqDir != null)
+            dirEsqDir.pai = dir;
+
+        dirEsq.dir = dir;
+        dir.pai = dirEsq;
+        dirEsq.esq = no;
+        no.pai = dirEsq;
+
+        if (paiEsq == no)
+            pai.esq = dirEsq;
+        else
+            pai.dir = dirEsq;
+        dirEsq.pai = pai;
+
+        int hNova = 1 + Math.max(he, hDEE);
+        no.h = hNova;
+        int hDirNova = 1 + Math.max(hDED, hdDir);
+        dir.h = hDirNova;
+        dirEsq.h = 1 + Math.max(hNova, hDirNova);
+
+        no.versao = fimMudanca(versaoNo);
+        dir.versao = fimMudanca(versaoDir);
+
+        int fbNo = he - hDEE;
+        if (fbNo < -1 || fbNo > 1)
+            return no;
+        if ((dirEsqEsq == null || he == 0) && no.item == null)
+            return no;
+
+        int fbDE = hNova - hDirNova;
+        if (fbDE < -1 || fbDE > 1)
+            return dirEsq;
+
+        return corrigirAltura(pai);
+    }
+
+    /**
+     * Converte o resultado de uma leitura (Object, porque pode ser REFAZER)
+     * num item. Só deve ser chamado depois de descartar REFAZER.
+     */
+    @SuppressWarnings("unchecked")
+    private T item(Object r) {
+        return (T) r;
+    }
+
+    /**
+     * Limpa os bits de mudança e incrementa o contador de versões.
+     */
+    private static long fimMudanca(long versao) {
+        return (versao | BITS_MUDANCA) + 1;
+    }
+
+    /**
+     * Espera a rotação em andamento sobre 'no' terminar: primeiro em espera
+     * ativa e, depois, pela trava que a rotação mantém.
+     */
+    private void esperarMudanca(No no) {
+        long versao = no.versao;
+
+        if ((versao & ENCOLHENDO) != 0) {
+            for (int i = 0; i < ESPERA_ATIVA; i++) {
+                if (no.versao != versao)
+                    return;
+                Thread.onSpinWait();
+            }
+
+            synchronized (no) {
+                // só aguarda a trava ser liberada
+            }
+        }
+    }
+
+    private void visitarNivel(No r, int n, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        if (n == 0) {
+            T item = r.item;
+            if (item != null)
+                visitante.visita(item);
+            return;
+        }
+
+        visitarNivel(r.esq, n - 1, visitante);
+        visitarNivel(r.dir, n - 1, visitante);
+    }
+
+    /**
+     * Retorna uma string com os itens da árvore em formato de indentação
+     * (nós de roteamento aparecem como "-").
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        imprime(raiz.dir, 0, buffer);
+
+        return buffer.toString();
+    }
+
+    private void imprime(No r, int nivel, StringBuilder buffer) {
+        if (r == null)
+            return;
+
+        T item = r.item;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(item == null ? "-" : item.toString());
+        buffer.append("\n");
+
+        imprime(r.esq, nivel + 1, buffer);
+        imprime(r.dir, nivel + 1, buffer);
+    }
+}
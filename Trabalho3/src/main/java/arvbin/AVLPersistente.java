@@ -0,0 +1,155 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * AVL persistente (imutável).
+ *
+ * inserir, remover e removerChave não alteram a árvore: retornam uma nova
+ * versão que compartilha com esta todas as subárvores fora do caminho
+ * alterado (O(log n) nós novos por operação). Versões antigas continuam
+ * válidas para sempre, então guardar uma versão é um instantâneo em O(1).
+ *
+ * Por não ter operações de escrita "void", não implementa IABB; as consultas
+ * têm a mesma semântica das de IABB.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class AVLPersistente<T, K> {
+    private final NoImutavel<T> raiz;
+    private final Comparator<K> comparador;
+    private final Function<T, K> recuperaChave;
+
+    /**
+     * Cria uma árvore vazia usando a ordem natural dos itens.
+     */
+    @SuppressWarnings("unchecked")
+    public AVLPersistente() {
+        this((o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); }, (o) -> (K) o);
+    }
+
+    /**
+     * Cria uma árvore vazia.
+     */
+    public AVLPersistente(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this(null, comparador, recuperaChave);
+    }
+
+    AVLPersistente(NoImutavel<T> raiz, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this.raiz = raiz;
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+    }
+
+    /**
+     * @return Nova versão com o item e; ou esta mesma, se a chave de e já existia
+     */
+    public AVLPersistente<T, K> inserir(T e) {
+        return versao(NoImutavel.inserir(raiz, e, recuperaChave.apply(e), comparador, recuperaChave));
+    }
+
+    /**
+     * @return Nova versão sem o item e; ou esta mesma, se e não existia
+     */
+    public AVLPersistente<T, K> remover(T e) {
+        return removerChave(recuperaChave.apply(e));
+    }
+
+    /**
+     * @return Nova versão sem o item de chave key; ou esta mesma, se a chave não existia
+     */
+    public AVLPersistente<T, K> removerChave(K key) {
+        return versao(NoImutavel.remover(raiz, key, comparador, recuperaChave));
+    }
+
+    /**
+     * @return Versão vazia com o mesmo comparador
+     */
+    public AVLPersistente<T, K> removeTodos() {
+        return versao(null);
+    }
+
+    public T buscar(K key) {
+        return NoImutavel.buscar(raiz, key, comparador, recuperaChave);
+    }
+
+    public boolean contem(T e) {
+        return buscar(recuperaChave.apply(e)) != null;
+    }
+
+    public boolean contemChave(K key) {
+        return buscar(key) != null;
+    }
+
+    public T maior() {
+        return NoImutavel.maior(raiz);
+    }
+
+    public T menor() {
+        return NoImutavel.menor(raiz);
+    }
+
+    public int quantidade() {
+        return NoImutavel.tamanho(raiz);
+    }
+
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    public void emOrdem(Visitante<T> visitante) {
+        NoImutavel.emOrdem(raiz, visitante);
+    }
+
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        NoImutavel.emOrdemInvertida(raiz, visitante);
+    }
+
+    public void nivel(int n, Visitante<T> visitante) {
+        NoImutavel.nivel(raiz, n, visitante);
+    }
+
+    public LSE<T> menorCaminho(T a, T b) {
+        return NoImutavel.menorCaminho(raiz, a, b, comparador, recuperaChave);
+    }
+
+    public String codigo(T a) {
+        return NoImutavel.codigo(raiz, a, comparador, recuperaChave);
+    }
+
+    public MaiorSoma maxSoma() {
+        return NoImutavel.maxSoma(raiz);
+    }
+
+    public T selecionar(int k) {
+        return NoImutavel.selecionar(raiz, k);
+    }
+
+    public int posto(K key) {
+        return NoImutavel.contarMenores(raiz, key, false, comparador, recuperaChave);
+    }
+
+    public int contarIntervalo(K lo, K hi) {
+        return NoImutavel.contarIntervalo(raiz, lo, hi, comparador, recuperaChave);
+    }
+
+    private AVLPersistente<T, K> versao(NoImutavel<T> novaRaiz) {
+        return novaRaiz == raiz ? this : new AVLPersistente<>(novaRaiz, comparador, recuperaChave);
+    }
+
+    /**
+     * Retorna uma string com os itens da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        NoImutavel.imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,402 @@
+package arvbin;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Base de {@link IntAVL} e {@link LongAVL}: a AVL com a chave num campo long
+ * do nó. As duas só traduzem a sua API (int ou long) para os métodos daqui.
+ *
+ * Com oops comprimidos o nó ocupa 32 bytes com chave long ou int (cabeçalho,
+ * h, dois filhos e a chave, arredondado a 8), então a IntAVL não paga nada
+ * por guardar as chaves em long.
+ */
+abstract class AVLPrimitiva {
+    private No raiz;
+    private int quantidade;
+
+    private static class No {
+        private long chave;
+        private int h;
+        private No esq;
+        private No dir;
+
+        public No (long chave) {
+            this.chave = chave;
+        }
+    }
+
+    void inserirLong(long chave) {
+        raiz = inserir(raiz, chave);
+    }
+
+    void removerChaveLong(long chave) {
+        raiz = removerChave(raiz, chave);
+    }
+
+    boolean contemChaveLong(long chave) {
+        No aux = raiz;
+
+        while (aux != null) {
+            if (chave == aux.chave)
+                return true;
+            aux = chave < aux.chave ? aux.esq : aux.dir;
+        }
+
+        return false;
+    }
+
+    /**
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    long maiorLong() {
+        if (raiz == null)
+            throw new NoSuchElementException("Arvore vazia");
+
+        No r = raiz;
+        while (r.dir != null)
+            r = r.dir;
+
+        return r.chave;
+    }
+
+    /**
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    long menorLong() {
+        if (raiz == null)
+            throw new NoSuchElementException("Arvore vazia");
+
+        No r = raiz;
+        while (r.esq != null)
+            r = r.esq;
+
+        return r.chave;
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    public void removeTodos() {
+        raiz = null;
+        quantidade = 0;
+    }
+
+    void emOrdemLong(VisitanteLong visitante) {
+        emOrdem(raiz, visitante);
+    }
+
+    void emOrdemInvertidaLong(VisitanteLong visitante) {
+        emOrdemInvertida(raiz, visitante);
+    }
+
+    void nivelLong(int n, VisitanteLong visitante) {
+        if (raiz == null || n < 0 || n > raiz.h) {
+            System.out.println("Nivel nao existe");
+            return;
+        }
+
+        visitarNivel(raiz, n, visitante);
+    }
+
+    /**
+     * @return Chaves do caminho de a até b, na ordem; vazio se alguma não existir
+     */
+    long[] menorCaminhoLong(long a, long b) {
+        // desce enquanto a e b estiverem do mesmo lado: para no LCA
+        No lca = raiz;
+        while (lca != null && (a < lca.chave && b < lca.chave || a > lca.chave && b > lca.chave))
+            lca = a < lca.chave ? lca.esq : lca.dir;
+
+        if (lca == null)
+            return new long[0];
+
+        // cada lado tem no máximo lca.h nós abaixo do LCA
+        long[] ladoA = new long[lca.h];
+        long[] ladoB = new long[lca.h];
+        int na = descer(lca, a, ladoA);
+        int nb = descer(lca, b, ladoB);
+        if (na < 0 || nb < 0)
+            return new long[0];
+
+        // de a subindo até o LCA e, dele, descendo até b
+        long[] caminho = new long[na + 1 + nb];
+        for (int i = 0; i < na; i++)
+            caminho[i] = ladoA[na - 1 - i];
+        caminho[na] = lca.chave;
+        System.arraycopy(ladoB, 0, caminho, na + 1, nb);
+
+        return caminho;
+    }
+
+    String codigoLong(long a) {
+        StringBuilder codigo = new StringBuilder();
+        No r = raiz;
+
+        while (r != null) {
+            if (a == r.chave)
+                return codigo.toString();
+
+            if (a < r.chave) {
+                codigo.append('0');
+                r = r.esq;
+            }
+            else {
+                codigo.append('1');
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#maxSoma()}, somando direto as chaves
+     * primitivas em int, como a AVL de Integer.
+     *
+     * @throws UnsupportedOperationException se alguma chave não couber em int
+     */
+    public MaiorSoma maxSoma() {
+        if (raiz == null)
+            return new MaiorSoma("", 0);
+
+        StringBuilder caminho = new StringBuilder();
+        int valor = maxSoma(raiz, caminho);
+
+        return new MaiorSoma(caminho.reverse().toString(), valor);
+    }
+
+    /**
+     * Copia para lado as chaves abaixo de r até a chave procurada.
+     *
+     * @return Quantidade de chaves copiadas; -1 se a chave não está na subárvore r
+     */
+    private static int descer(No r, long chave, long[] lado) {
+        int n = 0;
+
+        while (r.chave != chave) {
+            r = chave < r.chave ? r.esq : r.dir;
+            if (r == null)
+                return -1;
+            lado[n++] = r.chave;
+        }
+
+        return n;
+    }
+
+    /**
+     * Retorna a maior soma da raiz r até uma folha e acrescenta ao caminho
+     * (de trás para frente) as letras do percurso escolhido.
+     */
+    private static int maxSoma(No r, StringBuilder caminho) {
+        if ((int) r.chave != r.chave)
+            throw new UnsupportedOperationException("O metodo maxSoma aceita apenas chaves int.");
+        int valorNoAtual = (int) r.chave;
+
+        if (r.esq == null && r.dir == null)
+            return valorNoAtual;
+
+        // subárvore vazia soma 0, como no MaiorSoma da AVL
+        int tamanho = caminho.length();
+        int esquerda = r.esq == null ? 0 : maxSoma(r.esq, caminho);
+        int fimEsquerda = caminho.length();
+        int direita = r.dir == null ? 0 : maxSoma(r.dir, caminho);
+
+        if (esquerda >= direita) {
+            // descarta o caminho da direita
+            caminho.setLength(fimEsquerda);
+            caminho.append('E');
+            return valorNoAtual + esquerda;
+        }
+        else {
+            // descarta o caminho da esquerda, mantendo o da direita
+            caminho.delete(tamanho, fimEsquerda);
+            caminho.append('D');
+            return valorNoAtual + direita;
+        }
+    }
+
+    private No inserir(No r, long chave) {
+        if (r == null) {
+            quantidade++;
+            return new No(chave);
+        }
+
+        if (chave < r.chave) {
+            r.esq = inserir(r.esq, chave);
+            r.h = altura(r);
+            if (fb(r) > 1) {
+                if (chave < r.esq.chave)
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+        }
+        else if (chave > r.chave) {
+            r.dir = inserir(r.dir, chave);
+            r.h = altura(r);
+            if (fb(r) > 1) {
+                if (chave > r.dir.chave)
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+
+        return r;
+    }
+
+    private No removerChave(No r, long chave) {
+        if (r == null)
+            return null;
+
+        if (chave < r.chave)
+            r.esq = removerChave(r.esq, chave);
+        else if (chave > r.chave)
+            r.dir = removerChave(r.dir, chave);
+        else if (r.esq == null || r.dir == null) {
+            // folha ou apenas um filho
+            quantidade--;
+            return r.esq != null ? r.esq : r.dir;
+        }
+        else {
+            // 2 filhos: assume a maior chave da SAE e a remove de lá
+            No m = r.esq;
+            while (m.dir != null)
+                m = m.dir;
+            r.chave = m.chave;
+            r.esq = removerChave(r.esq, m.chave);
+        }
+
+        return balancear(r);
+    }
+
+    private No balancear(No r) {
+        r.h = altura(r);
+
+        if (fb(r) > 1) {
+            if (altura(r.esq) > altura(r.dir)) {
+                if (altura(r.esq.esq) >= altura(r.esq.dir))
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+            else {
+                if (altura(r.dir.dir) >= altura(r.dir.esq))
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+
+        return r;
+    }
+
+    private void visitarNivel(No r, int n, VisitanteLong visitante) {
+        if (r == null)
+            return;
+
+        if (n == 0) {
+            visitante.visita(r.chave);
+            return;
+        }
+
+        visitarNivel(r.esq, n - 1, visitante);
+        visitarNivel(r.dir, n - 1, visitante);
+    }
+
+    private void emOrdem(No r, VisitanteLong visitante) {
+        if (r == null)
+            return;
+
+        emOrdem(r.esq, visitante);
+        visitante.visita(r.chave);
+        emOrdem(r.dir, visitante);
+    }
+
+    private void emOrdemInvertida(No r, VisitanteLong visitante) {
+        if (r == null)
+            return;
+
+        emOrdemInvertida(r.dir, visitante);
+        visitante.visita(r.chave);
+        emOrdemInvertida(r.esq, visitante);
+    }
+
+    private int altura(No r) {
+        if (r == null)
+            return -1;
+
+        int he = r.esq == null ? -1 : r.esq.h;
+        int hd = r.dir == null ? -1 : r.dir.h;
+
+        return Math.max(he, hd) + 1;
+    }
+
+    private int fb(No r) {
+        int he = r.esq == null ? -1 : r.esq.h;
+        int hd = r.dir == null ? -1 : r.dir.h;
+
+        return Math.abs(he - hd);
+    }
+
+    private No rotateLL(No r) {
+        No no = r.esq;
+        r.esq = no.dir;
+        no.dir = r;
+
+        r.h = altura(r);
+        no.h = altura(no);
+
+        return no;
+    }
+
+    private No rotateRR(No r) {
+        No no = r.dir;
+        r.dir = no.esq;
+        no.esq = r;
+
+        r.h = altura(r);
+        no.h = altura(no);
+
+        return no;
+    }
+
+    private No rotateLR(No r) {
+        r.esq = rotateRR(r.esq);
+        return rotateLL(r);
+    }
+
+    private No rotateRL(No r) {
+        r.dir = rotateLL(r.dir);
+        return rotateRR(r);
+    }
+
+    /**
+     * Retorna uma string com as chaves da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+
+    private void imprime(No r, int nivel, StringBuilder buffer) {
+        if (r == null)
+            return;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(r.chave);
+        buffer.append("\n");
+
+        imprime(r.esq, nivel + 1, buffer);
+        imprime(r.dir, nivel + 1, buffer);
+    }
+}
@@ -0,0 +1,555 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * AVL sem objetos de nó: os nós são posições (slots) em vetores paralelos.
+ *
+ * esq[i], dir[i], h[i] e tam[i] guardam os filhos, a altura e o tamanho da
+ * subárvore do nó i e itens[i] o seu item; NULO (-1) faz o papel de null.
+ * Os slots liberados por removerChave formam uma lista livre (encadeada pelo
+ * próprio vetor esq) e são reaproveitados pelas inserções seguintes.
+ * Por elemento são 16 bytes de int mais a referência ao item, contra um
+ * objeto No inteiro (cabeçalho + 4 campos) na AVL.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class AVLVetor<T, K> implements IABB<T, K> {
+    private static final int NULO = -1;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private int[] esq;
+    private int[] dir;
+    private int[] h;
+    private int[] tam;
+    private Object[] itens;
+
+    private int raiz = NULO;
+    private int quantidade;
+    // próximo slot nunca usado e topo da lista de slots livres
+    private int proximoSlot;
+    private int livre = NULO;
+
+    private final Comparator<K> comparador;
+    private final Function<T, K> recuperaChave;
+
+    // os nós são as posições, vistas como Integer só enquanto menorCaminho desce
+    private final ABBBase.Navegacao<Integer, T, K> navegacao = new ABBBase.Navegacao<>() {
+        @Override
+        public int comparar(K key, Integer r) {
+            return comparador.compare(key, chave(r));
+        }
+
+        @Override
+        public Integer filho(Integer r, int c) {
+            int filho = c < 0 ? esq[r] : dir[r];
+            return filho == NULO ? null : filho;
+        }
+
+        @Override
+        public T item(Integer r) {
+            return AVLVetor.this.item(r);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    public AVLVetor() {
+        this((o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); }, (o) -> (K) o);
+    }
+
+    public AVLVetor(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this(CAPACIDADE_INICIAL, comparador, recuperaChave);
+    }
+
+    public AVLVetor(int capacidade, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+        alocar(Math.max(capacidade, 1));
+    }
+
+    @Override
+    public void inserir(T e) {
+        raiz = inserir(raiz, e, recuperaChave.apply(e));
+    }
+
+    @Override
+    public void remover(T e) {
+        removerChave(recuperaChave.apply(e));
+    }
+
+    @Override
+    public void removerChave(K key) {
+        raiz = removerChave(raiz, key);
+    }
+
+    @Override
+    public T buscar(K key) {
+        int r = localizar(key);
+
+        return r == NULO ? null : item(r);
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return localizar(recuperaChave.apply(e)) != NULO;
+    }
+
+    @Override
+    public boolean contemChave(K key) {
+        return localizar(key) != NULO;
+    }
+
+    @Override
+    public T maior() {
+        if (raiz == NULO)
+            return null;
+
+        int r = raiz;
+        while (dir[r] != NULO)
+            r = dir[r];
+
+        return item(r);
+    }
+
+    @Override
+    public T menor() {
+        if (raiz == NULO)
+            return null;
+
+        int r = raiz;
+        while (esq[r] != NULO)
+            r = esq[r];
+
+        return item(r);
+    }
+
+    @Override
+    public int quantidade() {
+        return quantidade;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return raiz == NULO;
+    }
+
+    @Override
+    public void removeTodos() {
+        alocar(CAPACIDADE_INICIAL);
+        raiz = NULO;
+        quantidade = 0;
+        proximoSlot = 0;
+        livre = NULO;
+    }
+
+    @Override
+    public void emOrdem(Visitante<T> visitante) {
+        emOrdem(raiz, visitante);
+    }
+
+    @Override
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        emOrdemInvertida(raiz, visitante);
+    }
+
+    @Override
+    public void nivel(int n, Visitante<T> visitante) {
+        if (raiz == NULO || n < 0 || n > h[raiz]) {
+            System.out.println("Nivel nao existe");
+            return;
+        }
+
+        visitarNivel(raiz, n, visitante);
+    }
+
+    @Override
+    public LSE<T> menorCaminho(T a, T b) {
+        return ABBBase.menorCaminho(raiz == NULO ? null : raiz, recuperaChave.apply(a), recuperaChave.apply(b), navegacao);
+    }
+
+    @Override
+    public String codigo(T a) {
+        K key = recuperaChave.apply(a);
+        StringBuilder codigo = new StringBuilder();
+        int r = raiz;
+
+        while (r != NULO) {
+            int c = comparador.compare(key, chave(r));
+            if (c == 0)
+                return codigo.toString();
+
+            if (c < 0) {
+                codigo.append('0');
+                r = esq[r];
+            }
+            else {
+                codigo.append('1');
+                r = dir[r];
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public MaiorSoma maxSoma() {
+        return maxSomaRecursivo(raiz);
+    }
+
+    @Override
+    public T selecionar(int k) {
+        if (k < 0 || k >= quantidade)
+            return null;
+
+        int r = raiz;
+        while (r != NULO) {
+            int te = esq[r] == NULO ? 0 : tam[esq[r]];
+
+            if (k < te)
+                r = esq[r];
+            else if (k == te)
+                return item(r);
+            else {
+                k -= te + 1;
+                r = dir[r];
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public int posto(K key) {
+        return contarMenores(key, false);
+    }
+
+    @Override
+    public int contarIntervalo(K lo, K hi) {
+        if (comparador.compare(lo, hi) > 0)
+            return 0;
+
+        return contarMenores(hi, true) - contarMenores(lo, false);
+    }
+
+    private int contarMenores(K key, boolean inclusivo) {
+        int qtd = 0;
+        int r = raiz;
+
+        while (r != NULO) {
+            int c = comparador.compare(key, chave(r));
+
+            if (c < 0 || (c == 0 && !inclusivo))
+                r = esq[r];
+            else {
+                qtd += (esq[r] == NULO ? 0 : tam[esq[r]]) + 1;
+                r = dir[r];
+            }
+        }
+
+        return qtd;
+    }
+
+    private MaiorSoma maxSomaRecursivo(int r) {
+        if (r == NULO)
+            return new MaiorSoma("", 0);
+
+        if (!(itens[r] instanceof Integer))
+            throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+        int valorNoAtual = (Integer) itens[r];
+
+        if (esq[r] == NULO && dir[r] == NULO)
+            return new MaiorSoma("", valorNoAtual);
+
+        MaiorSoma esquerda = maxSomaRecursivo(esq[r]);
+        MaiorSoma direita = maxSomaRecursivo(dir[r]);
+
+        if (esquerda.valor >= direita.valor)
+            return new MaiorSoma("E" + esquerda.caminho, valorNoAtual + esquerda.valor);
+        else
+            return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
+    }
+
+    private int localizar(K key) {
+        int r = raiz;
+
+        while (r != NULO) {
+            int c = comparador.compare(key, chave(r));
+
+            if (c == 0)
+                break;
+            r = c < 0 ? esq[r] : dir[r];
+        }
+
+        return r;
+    }
+
+    private int inserir(int r, T e, K key) {
+        if (r == NULO) {
+            quantidade++;
+            return novoSlot(e);
+        }
+
+        int c = comparador.compare(key, chave(r));
+
+        if (c < 0) {
+            int filho = inserir(esq[r], e, key);
+            esq[r] = filho;
+            h[r] = altura(r);
+            tam[r] = tamanho(r);
+            if (fb(r) > 1) {
+                if (comparador.compare(key, chave(esq[r])) < 0)
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+        }
+        else if (c > 0) {
+            int filho = inserir(dir[r], e, key);
+            dir[r] = filho;
+            h[r] = altura(r);
+            tam[r] = tamanho(r);
+            if (fb(r) > 1) {
+                if (comparador.compare(key, chave(dir[r])) > 0)
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+
+        return r;
+    }
+
+    private int removerChave(int r, K key) {
+        if (r == NULO)
+            return NULO;
+
+        int c = comparador.compare(key, chave(r));
+
+        if (c < 0) {
+            int filho = removerChave(esq[r], key);
+            esq[r] = filho;
+        }
+        else if (c > 0) {
+            int filho = removerChave(dir[r], key);
+            dir[r] = filho;
+        }
+        else if (esq[r] == NULO || dir[r] == NULO) {
+            // folha ou apenas um filho: o slot de r volta para a lista livre
+            int filho = esq[r] != NULO ? esq[r] : dir[r];
+            liberarSlot(r);
+            quantidade--;
+            return filho;
+        }
+        else {
+            // 2 filhos: r assume o maior item da SAE, que é removido de lá
+            int m = esq[r];
+            while (dir[m] != NULO)
+                m = dir[m];
+            itens[r] = itens[m];
+            int filho = removerChave(esq[r], chave(r));
+            esq[r] = filho;
+        }
+
+        return balancear(r);
+    }
+
+    private int balancear(int r) {
+        h[r] = altura(r);
+        tam[r] = tamanho(r);
+
+        if (fb(r) > 1) {
+            if (altura(esq[r]) > altura(dir[r])) {
+                if (altura(esq[esq[r]]) >= altura(dir[esq[r]]))
+                    r = rotateLL(r);
+                else
+                    r = rotateLR(r);
+            }
+            else {
+                if (altura(dir[dir[r]]) >= altura(esq[dir[r]]))
+                    r = rotateRR(r);
+                else
+                    r = rotateRL(r);
+            }
+        }
+
+        return r;
+    }
+
+    private int novoSlot(T e) {
+        int slot;
+
+        if (livre != NULO) {
+            slot = livre;
+            livre = esq[slot];
+        }
+        else {
+            if (proximoSlot == itens.length)
+                crescer();
+            slot = proximoSlot++;
+        }
+
+        itens[slot] = e;
+        esq[slot] = NULO;
+        dir[slot] = NULO;
+        h[slot] = 0;
+        tam[slot] = 1;
+
+        return slot;
+    }
+
+    private void liberarSlot(int slot) {
+        itens[slot] = null;
+        esq[slot] = livre;
+        livre = slot;
+    }
+
+    private void alocar(int capacidade) {
+        esq = new int[capacidade];
+        dir = new int[capacidade];
+        h = new int[capacidade];
+        tam = new int[capacidade];
+        itens = new Object[capacidade];
+    }
+
+    private void crescer() {
+        int capacidade = itens.length + (itens.length >> 1) + 1;
+
+        esq = Arrays.copyOf(esq, capacidade);
+        dir = Arrays.copyOf(dir, capacidade);
+        h = Arrays.copyOf(h, capacidade);
+        tam = Arrays.copyOf(tam, capacidade);
+        itens = Arrays.copyOf(itens, capacidade);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int r) {
+        return (T) itens[r];
+    }
+
+    private K chave(int r) {
+        return recuperaChave.apply(item(r));
+    }
+
+    private void visitarNivel(int r, int n, Visitante<T> visitante) {
+        if (r == NULO)
+            return;
+
+        if (n == 0) {
+            visitante.visita(item(r));
+            return;
+        }
+
+        visitarNivel(esq[r], n - 1, visitante);
+        visitarNivel(dir[r], n - 1, visitante);
+    }
+
+    private void emOrdem(int r, Visitante<T> visitante) {
+        if (r == NULO)
+            return;
+
+        emOrdem(esq[r], visitante);
+        visitante.visita(item(r));
+        emOrdem(dir[r], visitante);
+    }
+
+    private void emOrdemInvertida(int r, Visitante<T> visitante) {
+        if (r == NULO)
+            return;
+
+        emOrdemInvertida(dir[r], visitante);
+        visitante.visita(item(r));
+        emOrdemInvertida(esq[r], visitante);
+    }
+
+    private int altura(int r) {
+        if (r == NULO)
+            return -1;
+
+        int he = esq[r] == NULO ? -1 : h[esq[r]];
+        int hd = dir[r] == NULO ? -1 : h[dir[r]];
+
+        return Math.max(he, hd) + 1;
+    }
+
+    private int tamanho(int r) {
+        if (r == NULO)
+            return 0;
+
+        int te = esq[r] == NULO ? 0 : tam[esq[r]];
+        int td = dir[r] == NULO ? 0 : tam[dir[r]];
+
+        return te + td + 1;
+    }
+
+    private int fb(int r) {
+        int he = esq[r] == NULO ? -1 : h[esq[r]];
+        int hd = dir[r] == NULO ? -1 : h[dir[r]];
+
+        return Math.abs(he - hd);
+    }
+
+    private int rotateLL(int r) {
+        int no = esq[r];
+        esq[r] = dir[no];
+        dir[no] = r;
+
+        h[r] = altura(r);
+        h[no] = altura(no);
+        tam[r] = tamanho(r);
+        tam[no] = tamanho(no);
+
+        return no;
+    }
+
+    private int rotateRR(int r) {
+        int no = dir[r];
+        dir[r] = esq[no];
+        esq[no] = r;
+
+        h[r] = altura(r);
+        h[no] = altura(no);
+        tam[r] = tamanho(r);
+        tam[no] = tamanho(no);
+
+        return no;
+    }
+
+    private int rotateLR(int r) {
+        esq[r] = rotateRR(esq[r]);
+        return rotateLL(r);
+    }
+
+    private int rotateRL(int r) {
+        dir[r] = rotateLL(dir[r]);
+        return rotateRR(r);
+    }
+
+    /**
+     * Retorna uma string com os itens da árvore em formato de indentação.
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        imprime(raiz, 0, buffer);
+
+        return buffer.toString();
+    }
+
+    private void imprime(int r, int nivel, StringBuilder buffer) {
+        if (r == NULO)
+            return;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(itens[r].toString());
+        buffer.append("\n");
+
+        imprime(esq[r], nivel + 1, buffer);
+        imprime(dir[r], nivel + 1, buffer);
+    }
+}
@@ -0,0 +1,134 @@
+package arvbin;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Árvore balanceada por peso (BB[α], Nievergelt e Reingold), com os
+ * parâmetros (DELTA, RATIO) = (3, 2) de Hirai e Yamamoto, os mesmos do
+ * Data.Map do Haskell. O peso de uma subárvore é o seu tamanho + 1, e
+ * nenhum lado pode pesar mais que DELTA vezes o outro.
+ *
+ * O critério usa o tamanho da subárvore, que já é mantido para as
+ * estatísticas de ordem, então os nós não guardam altura nem cor.
+ * Rebalanceamentos são raros (O(1) amortizado por operação), pois
+ * uma subárvore que acabou de ser rebalanceada só volta a violar o critério
+ * depois de Ω(tamanho) operações.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class BalanceadaPorPeso<T, K> extends ABBBase<T, K> {
+    private static final int DELTA = 3;
+    private static final int RATIO = 2;
+
+    public BalanceadaPorPeso() {
+        super();
+    }
+
+    public BalanceadaPorPeso(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        super(comparador, recuperaChave);
+    }
+
+    @Override
+    public void inserir(T e) {
+        raiz = inserir(raiz, e, recuperaChave.apply(e));
+    }
+
+    @Override
+    public void removerChave(K key) {
+        raiz = removerChave(raiz, key);
+    }
+
+    private No<T> inserir(No<T> r, T e, K key) {
+        if (r == null)
+            return new No<>(e);
+
+        int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+        if (c < 0)
+            r.esq = inserir(r.esq, e, key);
+        else if (c > 0)
+            r.dir = inserir(r.dir, e, key);
+        else
+            // chave já existe: nada muda
+            return r;
+
+        return balancear(r);
+    }
+
+    private No<T> removerChave(No<T> r, K key) {
+        if (r == null)
+            return null;
+
+        int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+        if (c < 0)
+            r.esq = removerChave(r.esq, key);
+        else if (c > 0)
+            r.dir = removerChave(r.dir, key);
+        else {
+            if (r.esq == null)
+                return r.dir;
+            if (r.dir == null)
+                return r.esq;
+
+            // 2 filhos: o maior item da SAE assume o lugar de r
+            No<T> m = r.esq;
+            while (m.dir != null)
+                m = m.dir;
+            r.item = m.item;
+            r.esq = removerMaior(r.esq);
+        }
+
+        return balancear(r);
+    }
+
+    private No<T> removerMaior(No<T> r) {
+        if (r.dir == null)
+            return r.esq;
+
+        r.dir = removerMaior(r.dir);
+        return balancear(r);
+    }
+
+    /**
+     * Atualiza o tamanho de r e, se um lado ficou pesado demais, aplica a
+     * rotação simples ou dupla. Depois de uma inserção ou remoção abaixo de r
+     * uma rotação basta.
+     */
+    private No<T> balancear(No<T> r) {
+        r.tamanho = tamanho(r.esq) + tamanho(r.dir) + 1;
+
+        if (!balanceado(r.esq, r.dir)) {
+            // direita pesada
+            if (!simples(r.dir.esq, r.dir.dir))
+                r.dir = rotateLL(r.dir);
+            return rotateRR(r);
+        }
+
+        if (!balanceado(r.dir, r.esq)) {
+            // esquerda pesada
+            if (!simples(r.esq.dir, r.esq.esq))
+                r.esq = rotateRR(r.esq);
+            return rotateLL(r);
+        }
+
+        return r;
+    }
+
+    /**
+     * a não é leve demais em relação a b.
+     */
+    private static boolean balanceado(No<?> a, No<?> b) {
+        return DELTA * (tamanho(a) + 1) >= tamanho(b) + 1;
+    }
+
+    /**
+     * Basta a rotação simples: o neto de dentro (a) pesa menos que RATIO
+     * vezes o de fora (b).
+     */
+    private static boolean simples(No<?> a, No<?> b) {
+        return tamanho(a) + 1 < RATIO * (tamanho(b) + 1);
+    }
+}
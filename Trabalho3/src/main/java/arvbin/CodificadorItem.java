@@ -0,0 +1,63 @@
+package arvbin;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converte itens de/para um registro binário de largura fixa, usado pelos
+ * snapshots da AVL (ver {@link AVL#salvar} e {@link SnapshotAVL}).
+ *
+ * @param <T> Tipo do item
+ */
+public interface CodificadorItem<T> {
+
+    /** Itens Integer em 4 bytes. */
+    CodificadorItem<Integer> INTEIRO = new CodificadorItem<>() {
+        @Override
+        public int largura() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void escrever(ByteBuffer destino, Integer item) {
+            destino.putInt(item);
+        }
+
+        @Override
+        public Integer ler(ByteBuffer origem, int posicao) {
+            return origem.getInt(posicao);
+        }
+    };
+
+    /** Itens Long em 8 bytes. */
+    CodificadorItem<Long> LONGO = new CodificadorItem<>() {
+        @Override
+        public int largura() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void escrever(ByteBuffer destino, Long item) {
+            destino.putLong(item);
+        }
+
+        @Override
+        public Long ler(ByteBuffer origem, int posicao) {
+            return origem.getLong(posicao);
+        }
+    };
+
+    /**
+     * @return Quantidade de bytes ocupada por um item codificado
+     */
+    int largura();
+
+    /**
+     * Escreve o item na posição atual do buffer, avançando exatamente largura() bytes.
+     */
+    void escrever(ByteBuffer destino, T item);
+
+    /**
+     * Lê o item que começa na posição absoluta do buffer, sem alterar sua posição atual.
+     */
+    T ler(ByteBuffer origem, int posicao);
+}
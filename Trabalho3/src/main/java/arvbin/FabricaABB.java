@@ -0,0 +1,81 @@
+package arvbin;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Escolhe a implementação de IABB pela proporção de leituras da carga:
+ * - AVL: altura mínima (até 1,44 log n), buscas mais curtas, mais rotações nas escritas;
+ * - RubroNegra: até 2 log n de altura, no máximo 2 rotações por inserção e 3 por remoção;
+ * - BalanceadaPorPeso: meio-termo, com rebalanceamentos O(1) amortizados.
+ *
+ * Os limiares são um ponto de partida; o ImplementacoesBenchmark do
+ * conjunto JMH mede as três para cada proporção.
+ */
+public final class FabricaABB {
+    /**
+     * A partir dessa proporção de leituras a carga é tratada como de leitura.
+     */
+    public static final double LIMIAR_LEITURA = 0.7;
+
+    /**
+     * Até essa proporção de leituras a carga é tratada como de escrita.
+     */
+    public static final double LIMIAR_ESCRITA = 0.3;
+
+    public enum Tipo { AVL, RUBRO_NEGRA, BALANCEADA_POR_PESO }
+
+    private FabricaABB() {
+    }
+
+    /**
+     * @param proporcaoLeituras Fração das operações que são consultas, de 0 a 1
+     * @throws IllegalArgumentException se a proporção estiver fora de [0, 1]
+     */
+    public static Tipo tipoParaCarga(double proporcaoLeituras) {
+        if (!(proporcaoLeituras >= 0 && proporcaoLeituras <= 1))
+            throw new IllegalArgumentException("A proporcao de leituras deve estar entre 0 e 1");
+
+        if (proporcaoLeituras >= LIMIAR_LEITURA)
+            return Tipo.AVL;
+        if (proporcaoLeituras <= LIMIAR_ESCRITA)
+            return Tipo.RUBRO_NEGRA;
+        return Tipo.BALANCEADA_POR_PESO;
+    }
+
+    public static <T, K> IABB<T, K> paraCarga(double proporcaoLeituras, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        return criar(tipoParaCarga(proporcaoLeituras), comparador, recuperaChave);
+    }
+
+    /**
+     * Igual a {@link #paraCarga(double, Comparator, Function)}, usando a ordem natural dos itens.
+     */
+    public static <T, K> IABB<T, K> paraCarga(double proporcaoLeituras) {
+        return criar(tipoParaCarga(proporcaoLeituras));
+    }
+
+    public static <T, K> IABB<T, K> criar(Tipo tipo, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        switch (tipo) {
+            case AVL:
+                return new AVL<>(comparador, recuperaChave);
+            case RUBRO_NEGRA:
+                return new RubroNegra<>(comparador, recuperaChave);
+            default:
+                return new BalanceadaPorPeso<>(comparador, recuperaChave);
+        }
+    }
+
+    /**
+     * Igual a {@link #criar(Tipo, Comparator, Function)}, usando a ordem natural dos itens.
+     */
+    public static <T, K> IABB<T, K> criar(Tipo tipo) {
+        switch (tipo) {
+            case AVL:
+                return new AVL<>();
+            case RUBRO_NEGRA:
+                return new RubroNegra<>();
+            default:
+                return new BalanceadaPorPeso<>();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package arvbin;
 
+import lista.ILista;
 import lista.LSE;
 
 import java.util.function.Predicate;
@@ -122,6 +123,22 @@ public interface IABB<T, K> {
 	 */
 	LSE<T> menorCaminho(T a, T b);
 
+	/**
+	 * Igual a {@link #menorCaminho(Object, Object)}, mas acrescenta o caminho
+	 * ao fim de destino, que pode ser uma lista mais leve que a LSE
+	 * (ListaVetor, por exemplo).
+	 *
+	 * @param destino Lista que recebe os itens do caminho
+	 * @return Verdadeiro se a e b existem; falso (e destino não muda) caso contrário
+	 */
+	default boolean menorCaminho(T a, T b, ILista<T> destino) {
+		LSE<T> caminho = menorCaminho(a, b);
+		if (caminho.estaVazia())
+			return false;
+
+		return destino.adicionarLista(caminho);
+	}
+
 	/**
 	 * o metodo deve retornar uma string com o código do item a
 	 * ou nulo, se a não existe. O código é formado por 0s e 1s,
@@ -137,5 +154,32 @@ public interface IABB<T, K> {
 	 */
 
 	MaiorSoma maxSoma();
+
+	/**
+	 * Retorna o k-ésimo menor item da árvore (estatística de ordem).
+	 * O menor item está na posição ZERO.
+	 *
+	 * @param k Posição do item na ordem das chaves. Valores válidos: 0 a quantidade-1.
+	 * @return Item da posição k; ou null, caso k seja inválido.
+	 */
+	T selecionar(int k);
+
+	/**
+	 * Retorna o posto da chave key: a quantidade de itens com chave menor que key,
+	 * ou seja, a posição que key ocupa (ou ocuparia) no percurso em ordem.
+	 *
+	 * @param key Chave a ser consultada (não precisa existir na árvore).
+	 * @return Quantidade de itens com chave menor que key.
+	 */
+	int posto(K key);
+
+	/**
+	 * Conta os itens com chave no intervalo fechado [lo, hi].
+	 *
+	 * @param lo Limite inferior do intervalo.
+	 * @param hi Limite superior do intervalo.
+	 * @return Quantidade de itens com lo ≤ chave ≤ hi; ou 0, se lo > hi.
+	 */
+	int contarIntervalo(K lo, K hi);
 }
 
@@ -0,0 +1,86 @@
+package arvbin;
+
+import lista.IntLista;
+
+import java.util.NoSuchElementException;
+
+/**
+ * AVL especializada para chaves int.
+ *
+ * Segue o contrato de {@link IABB} para uma árvore de inteiros em que o item
+ * é a própria chave, mas guarda a chave num campo primitivo do nó: inserir e
+ * buscar não criam Integer nem passam pelo comparador/recuperaChave.
+ * A árvore é a mesma da {@link LongAVL} (AVLPrimitiva, com a chave em long).
+ */
+public class IntAVL extends AVLPrimitiva {
+
+    /**
+     * Insere a chave na árvore (chaves repetidas são ignoradas).
+     */
+    public void inserir(int chave) {
+        inserirLong(chave);
+    }
+
+    /**
+     * Remove da árvore a chave, se existir.
+     */
+    public void removerChave(int chave) {
+        removerChaveLong(chave);
+    }
+
+    public boolean contemChave(int chave) {
+        return contemChaveLong(chave);
+    }
+
+    /**
+     * @return Maior chave da árvore
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    public int maior() {
+        return (int) maiorLong();
+    }
+
+    /**
+     * @return Menor chave da árvore
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    public int menor() {
+        return (int) menorLong();
+    }
+
+    public void emOrdem(VisitanteInt visitante) {
+        emOrdemLong(chave -> visitante.visita((int) chave));
+    }
+
+    public void emOrdemInvertida(VisitanteInt visitante) {
+        emOrdemInvertidaLong(chave -> visitante.visita((int) chave));
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#nivel(int, Visitante)}.
+     */
+    public void nivel(int n, VisitanteInt visitante) {
+        nivelLong(n, chave -> visitante.visita((int) chave));
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#menorCaminho(Object, Object)}, numa
+     * lista de int montada já na ordem, sem boxing.
+     */
+    public IntLista menorCaminho(int a, int b) {
+        long[] caminho = menorCaminhoLong(a, b);
+        IntLista resultado = new IntLista(caminho.length);
+
+        for (long chave : caminho)
+            resultado.inserirFim((int) chave);
+
+        return resultado;
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#codigo(Object)}.
+     */
+    public String codigo(int a) {
+        return codigoLong(a);
+    }
+}
@@ -0,0 +1,78 @@
+package arvbin;
+
+import java.util.NoSuchElementException;
+
+/**
+ * AVL especializada para chaves long.
+ *
+ * Segue o contrato de {@link IABB} para uma árvore de longs em que o item
+ * é a própria chave, mas guarda a chave num campo primitivo do nó: inserir e
+ * buscar não criam Long nem passam pelo comparador/recuperaChave.
+ * A árvore é a mesma da {@link IntAVL} (AVLPrimitiva).
+ */
+public class LongAVL extends AVLPrimitiva {
+
+    /**
+     * Insere a chave na árvore (chaves repetidas são ignoradas).
+     */
+    public void inserir(long chave) {
+        inserirLong(chave);
+    }
+
+    /**
+     * Remove da árvore a chave, se existir.
+     */
+    public void removerChave(long chave) {
+        removerChaveLong(chave);
+    }
+
+    public boolean contemChave(long chave) {
+        return contemChaveLong(chave);
+    }
+
+    /**
+     * @return Maior chave da árvore
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    public long maior() {
+        return maiorLong();
+    }
+
+    /**
+     * @return Menor chave da árvore
+     * @throws NoSuchElementException se a árvore estiver vazia
+     */
+    public long menor() {
+        return menorLong();
+    }
+
+    public void emOrdem(VisitanteLong visitante) {
+        emOrdemLong(visitante);
+    }
+
+    public void emOrdemInvertida(VisitanteLong visitante) {
+        emOrdemInvertidaLong(visitante);
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#nivel(int, Visitante)}.
+     */
+    public void nivel(int n, VisitanteLong visitante) {
+        nivelLong(n, visitante);
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#menorCaminho(Object, Object)}, num vetor
+     * de long montado já na ordem, sem boxing.
+     */
+    public long[] menorCaminho(long a, long b) {
+        return menorCaminhoLong(a, b);
+    }
+
+    /**
+     * Mesma semântica de {@link IABB#codigo(Object)}.
+     */
+    public String codigo(long a) {
+        return codigoLong(a);
+    }
+}
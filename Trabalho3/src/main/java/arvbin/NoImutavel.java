@@ -0,0 +1,312 @@
+package arvbin;
+
+import lista.LSE;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Nó imutável de AVL e as operações sobre ele.
+ *
+ * Inserir e remover nunca alteram um nó existente: copiam apenas os nós do
+ * caminho da raiz até o ponto alterado (path copying) e devolvem a nova raiz,
+ * compartilhando todas as subárvores não tocadas com a versão anterior.
+ * Quando nada muda (chave já existente ou ausente) devolvem a própria raiz.
+ *
+ * @param <T> Tipo do item
+ */
+final class NoImutavel<T> {
+    final T item;
+    final int h;
+    final int tamanho;
+    final NoImutavel<T> esq;
+    final NoImutavel<T> dir;
+
+    private NoImutavel(T item, NoImutavel<T> esq, NoImutavel<T> dir) {
+        this.item = item;
+        this.esq = esq;
+        this.dir = dir;
+        this.h = Math.max(altura(esq), altura(dir)) + 1;
+        this.tamanho = tamanho(esq) + tamanho(dir) + 1;
+    }
+
+    static int altura(NoImutavel<?> r) {
+        return r == null ? -1 : r.h;
+    }
+
+    static int tamanho(NoImutavel<?> r) {
+        return r == null ? 0 : r.tamanho;
+    }
+
+    static <T, K> NoImutavel<T> inserir(NoImutavel<T> r, T e, K key, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        if (r == null)
+            return new NoImutavel<>(e, null, null);
+
+        int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+        if (c < 0) {
+            NoImutavel<T> esq = inserir(r.esq, e, key, comparador, recuperaChave);
+            return esq == r.esq ? r : balancear(r.item, esq, r.dir);
+        }
+        else if (c > 0) {
+            NoImutavel<T> dir = inserir(r.dir, e, key, comparador, recuperaChave);
+            return dir == r.dir ? r : balancear(r.item, r.esq, dir);
+        }
+
+        // chave já existe: nada muda
+        return r;
+    }
+
+    static <T, K> NoImutavel<T> remover(NoImutavel<T> r, K key, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        if (r == null)
+            return null;
+
+        int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+        if (c < 0) {
+            NoImutavel<T> esq = remover(r.esq, key, comparador, recuperaChave);
+            return esq == r.esq ? r : balancear(r.item, esq, r.dir);
+        }
+        else if (c > 0) {
+            NoImutavel<T> dir = remover(r.dir, key, comparador, recuperaChave);
+            return dir == r.dir ? r : balancear(r.item, r.esq, dir);
+        }
+
+        // key = r.key -> remove r
+        if (r.esq == null)
+            return r.dir;
+        if (r.dir == null)
+            return r.esq;
+
+        // 2 filhos: o maior item da SAE assume o lugar de r
+        return balancear(maior(r.esq), removerMaior(r.esq), r.dir);
+    }
+
+    private static <T> NoImutavel<T> removerMaior(NoImutavel<T> r) {
+        if (r.dir == null)
+            return r.esq;
+
+        return balancear(r.item, r.esq, removerMaior(r.dir));
+    }
+
+    /**
+     * Cria o nó (item, esq, dir) aplicando a rotação necessária quando as
+     * alturas das subárvores diferem em 2.
+     */
+    static <T> NoImutavel<T> balancear(T item, NoImutavel<T> esq, NoImutavel<T> dir) {
+        int he = altura(esq);
+        int hd = altura(dir);
+
+        if (he > hd + 1) {
+            if (altura(esq.esq) >= altura(esq.dir))
+                // LL
+                return new NoImutavel<>(esq.item, esq.esq, new NoImutavel<>(item, esq.dir, dir));
+            // LR
+            NoImutavel<T> m = esq.dir;
+            return new NoImutavel<>(m.item, new NoImutavel<>(esq.item, esq.esq, m.esq), new NoImutavel<>(item, m.dir, dir));
+        }
+
+        if (hd > he + 1) {
+            if (altura(dir.dir) >= altura(dir.esq))
+                // RR
+                return new NoImutavel<>(dir.item, new NoImutavel<>(item, esq, dir.esq), dir.dir);
+            // RL
+            NoImutavel<T> m = dir.esq;
+            return new NoImutavel<>(m.item, new NoImutavel<>(item, esq, m.esq), new NoImutavel<>(dir.item, m.dir, dir.dir));
+        }
+
+        return new NoImutavel<>(item, esq, dir);
+    }
+
+    static <T, K> T buscar(NoImutavel<T> r, K key, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+            if (c == 0)
+                return r.item;
+            r = c < 0 ? r.esq : r.dir;
+        }
+
+        return null;
+    }
+
+    static <T> T selecionar(NoImutavel<T> r, int k) {
+        if (k < 0 || k >= tamanho(r))
+            return null;
+
+        while (r != null) {
+            int te = tamanho(r.esq);
+
+            if (k < te)
+                r = r.esq;
+            else if (k == te)
+                return r.item;
+            else {
+                k -= te + 1;
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Quantidade de itens com chave menor que key (ou menor ou igual, se inclusivo).
+     */
+    static <T, K> int contarMenores(NoImutavel<T> r, K key, boolean inclusivo, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        int qtd = 0;
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+            if (c < 0 || (c == 0 && !inclusivo))
+                r = r.esq;
+            else {
+                qtd += tamanho(r.esq) + 1;
+                r = r.dir;
+            }
+        }
+
+        return qtd;
+    }
+
+    static <T, K> int contarIntervalo(NoImutavel<T> r, K lo, K hi, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        if (comparador.compare(lo, hi) > 0)
+            return 0;
+
+        return contarMenores(r, hi, true, comparador, recuperaChave) - contarMenores(r, lo, false, comparador, recuperaChave);
+    }
+
+    static <T> T maior(NoImutavel<T> r) {
+        if (r == null)
+            return null;
+
+        while (r.dir != null)
+            r = r.dir;
+
+        return r.item;
+    }
+
+    static <T> T menor(NoImutavel<T> r) {
+        if (r == null)
+            return null;
+
+        while (r.esq != null)
+            r = r.esq;
+
+        return r.item;
+    }
+
+    static <T> void emOrdem(NoImutavel<T> r, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        emOrdem(r.esq, visitante);
+        visitante.visita(r.item);
+        emOrdem(r.dir, visitante);
+    }
+
+    static <T> void emOrdemInvertida(NoImutavel<T> r, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        emOrdemInvertida(r.dir, visitante);
+        visitante.visita(r.item);
+        emOrdemInvertida(r.esq, visitante);
+    }
+
+    static <T> void nivel(NoImutavel<T> raiz, int n, Visitante<T> visitante) {
+        if (raiz == null || n < 0 || n > raiz.h) {
+            System.out.println("Nivel nao existe");
+            return;
+        }
+
+        visitarNivel(raiz, n, visitante);
+    }
+
+    private static <T> void visitarNivel(NoImutavel<T> r, int n, Visitante<T> visitante) {
+        if (r == null)
+            return;
+
+        if (n == 0) {
+            visitante.visita(r.item);
+            return;
+        }
+
+        visitarNivel(r.esq, n - 1, visitante);
+        visitarNivel(r.dir, n - 1, visitante);
+    }
+
+    static <T, K> LSE<T> menorCaminho(NoImutavel<T> raiz, T a, T b, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        return ABBBase.menorCaminho(raiz, recuperaChave.apply(a), recuperaChave.apply(b), new ABBBase.Navegacao<NoImutavel<T>, T, K>() {
+            @Override
+            public int comparar(K key, NoImutavel<T> no) {
+                return comparador.compare(key, recuperaChave.apply(no.item));
+            }
+
+            @Override
+            public NoImutavel<T> filho(NoImutavel<T> no, int c) {
+                return c < 0 ? no.esq : no.dir;
+            }
+
+            @Override
+            public T item(NoImutavel<T> no) {
+                return no.item;
+            }
+        });
+    }
+
+    static <T, K> String codigo(NoImutavel<T> r, T a, Comparator<K> comparador, Function<T, K> recuperaChave) {
+        K key = recuperaChave.apply(a);
+        StringBuilder codigo = new StringBuilder();
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+            if (c == 0)
+                return codigo.toString();
+
+            if (c < 0) {
+                codigo.append('0');
+                r = r.esq;
+            }
+            else {
+                codigo.append('1');
+                r = r.dir;
+            }
+        }
+
+        return null;
+    }
+
+    static <T> MaiorSoma maxSoma(NoImutavel<T> r) {
+        if (r == null)
+            return new MaiorSoma("", 0);
+
+        if (!(r.item instanceof Integer))
+            throw new UnsupportedOperationException("O metodo maxSoma aceita apenas arvores de inteiros.");
+        int valorNoAtual = (Integer) r.item;
+
+        if (r.esq == null && r.dir == null)
+            return new MaiorSoma("", valorNoAtual);
+
+        MaiorSoma esquerda = maxSoma(r.esq);
+        MaiorSoma direita = maxSoma(r.dir);
+
+        if (esquerda.valor >= direita.valor)
+            return new MaiorSoma("E" + esquerda.caminho, valorNoAtual + esquerda.valor);
+        else
+            return new MaiorSoma("D" + direita.caminho, valorNoAtual + direita.valor);
+    }
+
+    static <T> void imprime(NoImutavel<T> r, int nivel, StringBuilder buffer) {
+        if (r == null)
+            return;
+
+        buffer.append("...".repeat(nivel));
+        buffer.append(r.item.toString());
+        buffer.append("\n");
+
+        imprime(r.esq, nivel + 1, buffer);
+        imprime(r.dir, nivel + 1, buffer);
+    }
+}
@@ -0,0 +1,286 @@
+package arvbin;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Árvore rubro-negra clássica (Cormen et al.), sem ponteiro para o pai:
+ * inserir e removerChave guardam o caminho da raiz num vetor reaproveitado
+ * e corrigem as cores de baixo para cima.
+ *
+ * Comparada à AVL, a árvore pode ficar até 2 log n de altura (contra
+ * 1,44 log n), mas cada inserção faz no máximo 2 rotações e cada remoção no
+ * máximo 3; o resto do ajuste é só recolorir. Compensa em cargas com muitas
+ * escritas.
+ *
+ * @param <T> Tipo a ser armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class RubroNegra<T, K> extends ABBBase<T, K> {
+    // altura máxima de uma rubro-negra com até 2^31 nós, mais folga para o
+    // caso 1 da remoção, que desce o caminho em um nível
+    private static final int ALTURA_MAXIMA = 66;
+
+    private final Object[] caminho = new Object[ALTURA_MAXIMA];
+    private final boolean[] paraEsquerda = new boolean[ALTURA_MAXIMA];
+
+    public RubroNegra() {
+        super();
+    }
+
+    public RubroNegra(Comparator<K> comparador, Function<T, K> recuperaChave) {
+        super(comparador, recuperaChave);
+    }
+
+    @Override
+    public void inserir(T e) {
+        K key = recuperaChave.apply(e);
+
+        if (raiz == null) {
+            raiz = new No<>(e);
+            raiz.vermelho = false;
+            return;
+        }
+
+        int n = 0;
+        No<T> r = raiz;
+        No<T> novo;
+
+        while (true) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+
+            if (c == 0) {
+                // chave já existe: nada muda
+                limparCaminho(n);
+                return;
+            }
+
+            caminho[n] = r;
+            paraEsquerda[n] = c < 0;
+            n++;
+
+            No<T> filho = c < 0 ? r.esq : r.dir;
+            if (filho == null) {
+                novo = new No<>(e);
+                if (c < 0)
+                    r.esq = novo;
+                else
+                    r.dir = novo;
+                break;
+            }
+            r = filho;
+        }
+
+        for (int i = 0; i < n; i++)
+            noDoCaminho(i).tamanho++;
+
+        corrigirInsercao(novo, n);
+        raiz.vermelho = false;
+        limparCaminho(n);
+    }
+
+    /**
+     * x (vermelho) está na posição i do caminho; caminho[i - 1] é o pai.
+     */
+    private void corrigirInsercao(No<T> x, int i) {
+        while (i >= 2) {
+            No<T> pai = noDoCaminho(i - 1);
+            if (!pai.vermelho)
+                return;
+
+            // pai vermelho nunca é a raiz, então o avô existe
+            No<T> avo = noDoCaminho(i - 2);
+            boolean paiEsquerdo = paraEsquerda[i - 2];
+            No<T> tio = paiEsquerdo ? avo.dir : avo.esq;
+
+            if (vermelho(tio)) {
+                // só recolore e continua a partir do avô
+                pai.vermelho = false;
+                tio.vermelho = false;
+                avo.vermelho = true;
+                x = avo;
+                i -= 2;
+                continue;
+            }
+
+            boolean xEsquerdo = paraEsquerda[i - 1];
+            if (paiEsquerdo) {
+                if (!xEsquerdo) {
+                    // LR: x vira o pai
+                    avo.esq = rotateRR(pai);
+                    pai = x;
+                }
+                pai.vermelho = false;
+                avo.vermelho = true;
+                religar(i - 2, rotateLL(avo));
+            }
+            else {
+                if (xEsquerdo) {
+                    // RL
+                    avo.dir = rotateLL(pai);
+                    pai = x;
+                }
+                pai.vermelho = false;
+                avo.vermelho = true;
+                religar(i - 2, rotateRR(avo));
+            }
+            return;
+        }
+    }
+
+    @Override
+    public void removerChave(K key) {
+        int n = 0;
+        No<T> r = raiz;
+
+        while (r != null) {
+            int c = comparador.compare(key, recuperaChave.apply(r.item));
+            if (c == 0)
+                break;
+
+            caminho[n] = r;
+            paraEsquerda[n] = c < 0;
+            n++;
+            r = c < 0 ? r.esq : r.dir;
+        }
+
+        if (r == null) {
+            // key não encontrada
+            limparCaminho(n);
+            return;
+        }
+
+        // sai o próprio r ou, se ele tem 2 filhos, o maior nó da SAE,
+        // cujo item passa para r
+        No<T> sai = r;
+        if (r.esq != null && r.dir != null) {
+            caminho[n] = r;
+            paraEsquerda[n] = true;
+            n++;
+
+            sai = r.esq;
+            while (sai.dir != null) {
+                caminho[n] = sai;
+                paraEsquerda[n] = false;
+                n++;
+                sai = sai.dir;
+            }
+
+            r.item = sai.item;
+        }
+
+        No<T> x = sai.esq != null ? sai.esq : sai.dir;
+        religar(n, x);
+
+        for (int i = 0; i < n; i++)
+            noDoCaminho(i).tamanho--;
+
+        if (!sai.vermelho) {
+            if (vermelho(x))
+                x.vermelho = false;
+            else
+                corrigirRemocao(n);
+        }
+
+        if (raiz != null)
+            raiz.vermelho = false;
+        limparCaminho(n + 1);
+    }
+
+    /**
+     * A posição i do caminho (filho de caminho[i - 1]) ficou com um preto a
+     * menos que o irmão.
+     */
+    private void corrigirRemocao(int i) {
+        while (i > 0) {
+            No<T> pai = noDoCaminho(i - 1);
+            boolean xEsquerdo = paraEsquerda[i - 1];
+            // o irmão existe: do outro lado há pelo menos um nó preto
+            No<T> irmao = xEsquerdo ? pai.dir : pai.esq;
+
+            if (irmao.vermelho) {
+                // caso 1: gira o pai para o lado de x; o novo irmão é preto
+                irmao.vermelho = false;
+                pai.vermelho = true;
+                religar(i - 1, xEsquerdo ? rotateRR(pai) : rotateLL(pai));
+
+                // o irmão entra no caminho acima do pai
+                caminho[i - 1] = irmao;
+                paraEsquerda[i - 1] = xEsquerdo;
+                caminho[i] = pai;
+                paraEsquerda[i] = xEsquerdo;
+                i++;
+                continue;
+            }
+
+            if (!vermelho(irmao.esq) && !vermelho(irmao.dir)) {
+                // caso 2: o irmão fica vermelho e o problema sobe para o pai
+                irmao.vermelho = true;
+                if (pai.vermelho) {
+                    pai.vermelho = false;
+                    return;
+                }
+                i--;
+                continue;
+            }
+
+            if (xEsquerdo) {
+                if (!vermelho(irmao.dir)) {
+                    // caso 3: o sobrinho vermelho passa para o lado de fora
+                    irmao.esq.vermelho = false;
+                    irmao.vermelho = true;
+                    irmao = rotateLL(irmao);
+                    pai.dir = irmao;
+                }
+                // caso 4
+                irmao.vermelho = pai.vermelho;
+                pai.vermelho = false;
+                irmao.dir.vermelho = false;
+                religar(i - 1, rotateRR(pai));
+            }
+            else {
+                if (!vermelho(irmao.esq)) {
+                    irmao.dir.vermelho = false;
+                    irmao.vermelho = true;
+                    irmao = rotateRR(irmao);
+                    pai.esq = irmao;
+                }
+                irmao.vermelho = pai.vermelho;
+                pai.vermelho = false;
+                irmao.esq.vermelho = false;
+                religar(i - 1, rotateLL(pai));
+            }
+            return;
+        }
+    }
+
+    private static boolean vermelho(No<?> r) {
+        return r != null && r.vermelho;
+    }
+
+    /**
+     * Pendura no no lugar do nó da posição i do caminho: como filho de
+     * caminho[i - 1] ou como raiz.
+     */
+    private void religar(int i, No<T> no) {
+        if (i == 0)
+            raiz = no;
+        else if (paraEsquerda[i - 1])
+            noDoCaminho(i - 1).esq = no;
+        else
+            noDoCaminho(i - 1).dir = no;
+    }
+
+    @SuppressWarnings("unchecked")
+    private No<T> noDoCaminho(int i) {
+        return (No<T>) caminho[i];
+    }
+
+    /**
+     * Solta as referências do caminho para não segurar nós removidos.
+     */
+    private void limparCaminho(int n) {
+        Arrays.fill(caminho, 0, n, null);
+    }
+}
@@ -0,0 +1,217 @@
+package arvbin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Visão somente leitura de uma AVL gravada por {@link AVL#salvar}.
+ *
+ * O arquivo é mapeado em memória (FileChannel.map) e consultado direto nos
+ * registros, sem desserializar a árvore: buscar só decodifica os itens do
+ * caminho percorrido. {@link #paraAVL()} reconstrói a AVL mutável em O(N),
+ * aproveitando as alturas gravadas (sem nenhuma rotação).
+ *
+ * Formato (big-endian):
+ * cabeçalho [mágico int][versão int][quantidade int][largura do item int],
+ * seguido de um registro por nó em pré-ordem: [esq int][dir int][h int][item].
+ * esq/dir são os índices (em pré-ordem) dos filhos, ou -1.
+ *
+ * @param <T> Tipo armazenado na árvore
+ * @param <K> Tipo da chave dos itens
+ */
+public class SnapshotAVL<T, K> {
+    static final int MAGICO = 0x41564C31; // "AVL1"
+    static final int VERSAO = 1;
+    static final int CABECALHO = 16;
+    static final int CAMPOS_NO = 12;
+
+    private final MappedByteBuffer[] regioes;
+    private final int registrosPorRegiao;
+    private final int tamanhoRegistro;
+    private final int quantidade;
+    private final CodificadorItem<T> codificador;
+    private final Comparator<K> comparador;
+    private final Function<T, K> recuperaChave;
+
+    private SnapshotAVL(MappedByteBuffer[] regioes, int registrosPorRegiao, int quantidade,
+                        CodificadorItem<T> codificador, Comparator<K> comparador,
+                        Function<T, K> recuperaChave) {
+        this.regioes = regioes;
+        this.registrosPorRegiao = registrosPorRegiao;
+        this.tamanhoRegistro = CAMPOS_NO + codificador.largura();
+        this.quantidade = quantidade;
+        this.codificador = codificador;
+        this.comparador = comparador;
+        this.recuperaChave = recuperaChave;
+    }
+
+    /**
+     * Abre um snapshot usando a ordem natural dos itens (como o construtor padrão da AVL).
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K> SnapshotAVL<T, K> abrir(Path arquivo, CodificadorItem<T> codificador) throws IOException {
+        return abrir(arquivo, codificador,
+                (o1, o2) -> { return ((Comparable<K>) o1).compareTo(o2); }, (o) -> (K) o);
+    }
+
+    /**
+     * Mapeia o arquivo em memória. Arquivos maiores que 2 GB são mapeados em
+     * várias regiões, cada uma com um número inteiro de registros.
+     *
+     * @throws IOException se o arquivo não puder ser lido ou não for um snapshot válido
+     */
+    public static <T, K> SnapshotAVL<T, K> abrir(Path arquivo, CodificadorItem<T> codificador,
+                                                 Comparator<K> comparador, Function<T, K> recuperaChave) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECALHO)
+                throw new IOException("Arquivo nao eh um snapshot de AVL: " + arquivo);
+
+            ByteBuffer cabecalho = canal.map(FileChannel.MapMode.READ_ONLY, 0, CABECALHO);
+            if (cabecalho.getInt(0) != MAGICO || cabecalho.getInt(4) != VERSAO)
+                throw new IOException("Arquivo nao eh um snapshot de AVL: " + arquivo);
+
+            int quantidade = cabecalho.getInt(8);
+            int largura = cabecalho.getInt(12);
+            if (largura != codificador.largura())
+                throw new IOException("Largura do item no snapshot (" + largura
+                        + ") difere da do codificador (" + codificador.largura() + ")");
+
+            long tamanhoRegistro = CAMPOS_NO + largura;
+            if (canal.size() != CABECALHO + quantidade * tamanhoRegistro)
+                throw new IOException("Snapshot truncado ou corrompido: " + arquivo);
+
+            int registrosPorRegiao = (int) (Integer.MAX_VALUE / tamanhoRegistro);
+            int qtdRegioes = quantidade == 0 ? 0 : (quantidade - 1) / registrosPorRegiao + 1;
+            MappedByteBuffer[] regioes = new MappedByteBuffer[qtdRegioes];
+
+            for (int i = 0; i < qtdRegioes; i++) {
+                long inicio = CABECALHO + (long) i * registrosPorRegiao * tamanhoRegistro;
+                long registros = Math.min(registrosPorRegiao, quantidade - (long) i * registrosPorRegiao);
+                regioes[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, registros * tamanhoRegistro);
+            }
+
+            return new SnapshotAVL<>(regioes, registrosPorRegiao, quantidade, codificador, comparador, recuperaChave);
+        }
+    }
+
+    public int quantidade() {
+        return quantidade;
+    }
+
+    public boolean estaVazia() {
+        return quantidade == 0;
+    }
+
+    public T buscar(K key) {
+        int r = localizar(key);
+
+        return r == -1 ? null : item(r);
+    }
+
+    public boolean contem(T e) {
+        return localizar(recuperaChave.apply(e)) != -1;
+    }
+
+    public boolean contemChave(K key) {
+        return localizar(key) != -1;
+    }
+
+    public T menor() {
+        if (quantidade == 0)
+            return null;
+
+        int r = 0;
+        while (esq(r) != -1)
+            r = esq(r);
+
+        return item(r);
+    }
+
+    public T maior() {
+        if (quantidade == 0)
+            return null;
+
+        int r = 0;
+        while (dir(r) != -1)
+            r = dir(r);
+
+        return item(r);
+    }
+
+    public void emOrdem(Visitante<T> visitante) {
+        if (quantidade > 0)
+            emOrdem(0, visitante);
+    }
+
+    public void emOrdemInvertida(Visitante<T> visitante) {
+        if (quantidade > 0)
+            emOrdemInvertida(0, visitante);
+    }
+
+    /**
+     * Reconstrói a AVL mutável em O(N), sem nenhuma comparação ou rotação.
+     */
+    public AVL<T, K> paraAVL() {
+        return AVL.deSnapshot(this, comparador, recuperaChave);
+    }
+
+    int esq(int i) {
+        return regiao(i).getInt(deslocamento(i));
+    }
+
+    int dir(int i) {
+        return regiao(i).getInt(deslocamento(i) + 4);
+    }
+
+    int h(int i) {
+        return regiao(i).getInt(deslocamento(i) + 8);
+    }
+
+    T item(int i) {
+        return codificador.ler(regiao(i), deslocamento(i) + CAMPOS_NO);
+    }
+
+    private MappedByteBuffer regiao(int i) {
+        return regioes[i / registrosPorRegiao];
+    }
+
+    private int deslocamento(int i) {
+        return (i % registrosPorRegiao) * tamanhoRegistro;
+    }
+
+    private int localizar(K key) {
+        int r = quantidade == 0 ? -1 : 0;
+
+        while (r != -1) {
+            int c = comparador.compare(key, recuperaChave.apply(item(r)));
+
+            if (c == 0)
+                break;
+            r = c < 0 ? esq(r) : dir(r);
+        }
+
+        return r;
+    }
+
+    private void emOrdem(int r, Visitante<T> visitante) {
+        if (esq(r) != -1)
+            emOrdem(esq(r), visitante);
+        visitante.visita(item(r));
+        if (dir(r) != -1)
+            emOrdem(dir(r), visitante);
+    }
+
+    private void emOrdemInvertida(int r, Visitante<T> visitante) {
+        if (dir(r) != -1)
+            emOrdemInvertida(dir(r), visitante);
+        visitante.visita(item(r));
+        if (esq(r) != -1)
+            emOrdemInvertida(esq(r), visitante);
+    }
+}
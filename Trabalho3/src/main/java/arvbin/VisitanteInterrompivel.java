@@ -0,0 +1,13 @@
+package arvbin;
+
+public interface VisitanteInterrompivel<T> {
+    /**
+     * Esse método é chamado pelos métodos de
+     * percurso interrompível para que um item seja
+     * visitado (processado)
+     *
+     * @param item Ítem a ser visitado
+     * @return Verdadeiro para continuar o percurso; falso para interrompê-lo
+     */
+    boolean visita(T item);
+}
@@ -0,0 +1,12 @@
+package arvbin;
+
+public interface VisitanteLong {
+    /**
+     * Esse método é chamado pelos métodos de
+     * percurso das árvores de longs para que
+     * uma chave seja visitada (processada), sem boxing
+     *
+     * @param chave Chave a ser visitada
+     */
+    void visita(long chave);
+}
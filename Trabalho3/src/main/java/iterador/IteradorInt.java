@@ -0,0 +1,11 @@
+package iterador;
+
+/**
+ * Iterador sobre valores int, sem boxing.
+ */
+public interface IteradorInt {
+
+	boolean temProximo();
+
+	int proximoInt();
+}
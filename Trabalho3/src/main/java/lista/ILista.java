@@ -25,6 +25,22 @@ public interface ILista<T> {
      */
     public boolean inserirFim(T e);
 
+    /**
+     * Insere os itens no final da lista, na ordem do vetor.
+     * 
+     * @param itens Itens a serem inseridos.
+     * @return Verdadeiro, se a operação foi bem sucedida; ou falso, caso contrário.
+     */
+    public boolean inserirTodos(T[] itens);
+
+    /**
+     * Insere no final da lista todos os itens de outra, na ordem em que estão nela.
+     * 
+     * @param outra Lista cujos itens serão inseridos (não é alterada).
+     * @return Verdadeiro, se a operação foi bem sucedida; ou falso, caso contrário.
+     */
+    public boolean adicionarLista(ILista<T> outra);
+
     /**
      * Insere o item e na posição p da lista.
      * Se houver itens na posição p ou posterior, esses serão deslocados 
@@ -0,0 +1,244 @@
+package lista;
+
+import iterador.IteradorInt;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista de int sobre um vetor primitivo, com as mesmas operações de
+ * {@link ILista}: cada item ocupa 4 bytes, sem Integer nem nó.
+ *
+ * Como não há null para int, as operações que em ILista retornam null
+ * lançam exceção: NoSuchElementException se a lista estiver vazia e
+ * IndexOutOfBoundsException se a posição for inválida.
+ */
+public class IntLista {
+    private static final int CAPACIDADE_INICIAL = 10;
+
+    private int[] itens;
+    private int qtdItens;
+
+    public IntLista() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * @throws IllegalArgumentException se capacidadeInicial for negativa
+     */
+    public IntLista(int capacidadeInicial) {
+        if (capacidadeInicial < 0)
+            throw new IllegalArgumentException("A capacidade inicial nao pode ser negativa");
+
+        this.itens = new int[capacidadeInicial];
+    }
+
+    private class IteradorIntLista implements IteradorInt {
+        private int proximo = 0;
+
+        @Override
+        public boolean temProximo() {
+            return proximo < qtdItens;
+        }
+
+        @Override
+        public int proximoInt() {
+            return itens[proximo++];
+        }
+    }
+
+    public IteradorInt iterador() {
+        return new IteradorIntLista();
+    }
+
+    public boolean inserirInicio(int e) {
+        return inserirPosicao(0, e);
+    }
+
+    public boolean inserirFim(int e) {
+        if (!garantirEspaco(qtdItens + 1))
+            return false;
+
+        itens[qtdItens++] = e;
+
+        return true;
+    }
+
+    /**
+     * Insere no fim da lista todos os itens do vetor, na ordem.
+     *
+     * @return Verdadeiro, se a operação foi bem sucedida; ou falso, caso contrário.
+     */
+    public boolean inserirTodos(int[] novos) {
+        if (!garantirEspaco(qtdItens + novos.length))
+            return false;
+
+        System.arraycopy(novos, 0, itens, qtdItens, novos.length);
+        qtdItens += novos.length;
+
+        return true;
+    }
+
+    /**
+     * Insere no fim da lista todos os itens de outra (pode ser ela mesma).
+     *
+     * @return Verdadeiro, se a operação foi bem sucedida; ou falso, caso contrário.
+     */
+    public boolean adicionarLista(IntLista outra) {
+        int n = outra.qtdItens;
+        if (!garantirEspaco(qtdItens + n))
+            return false;
+
+        System.arraycopy(outra.itens, 0, itens, qtdItens, n);
+        qtdItens += n;
+
+        return true;
+    }
+
+    public boolean inserirPosicao(int p, int e) {
+        // Verifica se P é válido
+        if (p < 0 || p > qtdItens)
+            return false;
+
+        if (!garantirEspaco(qtdItens + 1))
+            return false;
+
+        System.arraycopy(itens, p, itens, p + 1, qtdItens - p);
+        itens[p] = e;
+        qtdItens++;
+
+        return true;
+    }
+
+    /**
+     * @return Item que estava na posição P
+     */
+    public int alterar(int p, int e) {
+        verificarPosicao(p);
+
+        int old = itens[p];
+        itens[p] = e;
+
+        return old;
+    }
+
+    public int removerInicio() {
+        if (qtdItens == 0)
+            throw new NoSuchElementException("Lista vazia");
+
+        return removerPosicao(0);
+    }
+
+    public int removerFim() {
+        if (qtdItens == 0)
+            throw new NoSuchElementException("Lista vazia");
+
+        return itens[--qtdItens];
+    }
+
+    public int removerPosicao(int p) {
+        verificarPosicao(p);
+
+        int item = itens[p];
+        System.arraycopy(itens, p + 1, itens, p, qtdItens - p - 1);
+        qtdItens--;
+
+        return item;
+    }
+
+    /**
+     * Remove a primeira ocorrência de e.
+     *
+     * @return Verdadeiro, se e estava na lista; ou falso, caso contrário.
+     */
+    public boolean remover(int e) {
+        int p = posicao(e);
+        if (p == -1)
+            return false;
+
+        removerPosicao(p);
+
+        return true;
+    }
+
+    public int getItem(int p) {
+        verificarPosicao(p);
+
+        return itens[p];
+    }
+
+    public boolean contem(int e) {
+        return posicao(e) != -1;
+    }
+
+    public int posicao(int e) {
+        for (int p = 0; p < qtdItens; p++)
+            if (itens[p] == e)
+                return p;
+
+        return -1;
+    }
+
+    public int quantidade() {
+        return qtdItens;
+    }
+
+    public boolean estaVazia() {
+        return qtdItens == 0;
+    }
+
+    public void removerTodos() {
+        qtdItens = 0;
+    }
+
+    /**
+     * Copia os itens, na ordem da lista, para um vetor do tamanho exato.
+     */
+    public int[] paraArray() {
+        return Arrays.copyOf(itens, qtdItens);
+    }
+
+    /**
+     * Retorna uma string com os itens da lista no formato [e1, e2, e3, ..., en].
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        buffer.append("[");
+        for (int p = 0; p < qtdItens; p++) {
+            if (p > 0)
+                buffer.append(", ");
+            buffer.append(itens[p]);
+        }
+        buffer.append("]");
+
+        return buffer.toString();
+    }
+
+    private void verificarPosicao(int p) {
+        if (p < 0 || p >= qtdItens)
+            throw new IndexOutOfBoundsException("Posicao invalida: " + p);
+    }
+
+    /**
+     * Garante espaço para n itens, trocando o vetor por um 1,5 vez maior se preciso.
+     *
+     * @return Falso, se não houver memória
+     */
+    private boolean garantirEspaco(int n) {
+        if (n <= itens.length)
+            return true;
+
+        int capacidade = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(n, itens.length + (itens.length >> 1) + 1L));
+
+        try {
+            itens = Arrays.copyOf(itens, capacidade);
+        }
+        catch (OutOfMemoryError ex) {
+            return false;
+        }
+
+        return true;
+    }
+}
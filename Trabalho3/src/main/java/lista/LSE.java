@@ -9,7 +9,13 @@ import iterador.Iterador;
 public class LSE<T> implements ILista<T> {
 
     private No  head;
+    private No  tail;
     private int qtdItens;
+
+    // último nó acessado por posição, para que percorrer a lista com
+    // getItem(0), getItem(1), ... não recomece sempre do head
+    private No  cursor;
+    private int posCursor;
     
 	/**
 	 * Implementa o nó da lista encadeada. Armazena o item propriamente 
@@ -60,6 +66,12 @@ public class LSE<T> implements ILista<T> {
         
         no.prox = head;
         head = no;
+        if (tail == null)
+            tail = no;
+        
+        // os demais nós andaram uma posição
+        if (cursor != null)
+            posCursor++;
         
         qtdItens++;
         
@@ -68,7 +80,7 @@ public class LSE<T> implements ILista<T> {
     
     @Override
     public boolean inserirFim(T e) {
-        No no, aux;
+        No no;
         
         try {
             no = new No(e);
@@ -79,16 +91,37 @@ public class LSE<T> implements ILista<T> {
         
         if (qtdItens == 0)
             head = no;
-        else {
-            aux = localizarNo(qtdItens-1);
-            aux.prox = no;
-        }
+        else
+            tail.prox = no;
+        tail = no;
         
         qtdItens++;
         
         return true;
     }
 
+    @Override
+    public boolean inserirTodos(T[] itens) {
+        for (T e : itens)
+            if (!inserirFim(e))
+                return false;
+        
+        return true;
+    }
+    
+    @Override
+    public boolean adicionarLista(ILista<T> outra) {
+        // conta antes: outra pode ser esta mesma lista
+        int n = outra.quantidade();
+        Iterador<T> it = outra.iterador();
+        
+        for (int i = 0; i < n; i++)
+            if (!inserirFim(it.proximo()))
+                return false;
+        
+        return true;
+    }
+
     @Override
     public boolean inserirPosicao(int p, T e) {
         No aux, no;
@@ -119,6 +152,9 @@ public class LSE<T> implements ILista<T> {
         no.prox = aux.prox;
         aux.prox = no;
         
+        if (cursor != null && posCursor >= p)
+            posCursor++;
+        
         qtdItens++;
         
         return true;
@@ -151,6 +187,13 @@ public class LSE<T> implements ILista<T> {
         
         no = head;
         head = head.prox;
+        if (head == null)
+            tail = null;
+        
+        if (cursor == no)
+            cursor = null;
+        else if (cursor != null)
+            posCursor--;
         
         item = no.item;
         no.item = null;
@@ -179,6 +222,10 @@ public class LSE<T> implements ILista<T> {
         ultimo = aux.prox;
  
         aux.prox = null;
+        tail = aux;
+        
+        if (cursor == ultimo)
+            cursor = null;
         
         item = ultimo.item;
         ultimo.item = null;
@@ -212,6 +259,11 @@ public class LSE<T> implements ILista<T> {
         no = aux.prox;
         aux.prox = no.prox;
         
+        if (cursor == no)
+            cursor = null;
+        else if (cursor != null && posCursor > p)
+            posCursor--;
+        
         item = no.item;
         no.item = null;
         no.prox = null;
@@ -289,6 +341,8 @@ public class LSE<T> implements ILista<T> {
             aux.prox = null;
         }
         
+        tail = null;
+        cursor = null;
         qtdItens = 0;
     }
     
@@ -319,16 +373,30 @@ public class LSE<T> implements ILista<T> {
     }
     
     /**
-     * Retorna o nó da posição P.
+     * Retorna o nó da posição P. O último nó sai direto do tail; os demais
+     * partem do cursor quando ele está antes de P, então acessos em ordem
+     * crescente custam O(1) amortizado.
      */
     private No localizarNo(int p) {
+        if (p == qtdItens-1)
+            return tail;
+        
         No aux = head;
+        int i = 0;
         
-        while (p > 0) {
+        if (cursor != null && posCursor <= p) {
+            aux = cursor;
+            i = posCursor;
+        }
+        
+        while (i < p) {
             aux = aux.prox;
-            p--;
+            i++;
         }
         
+        cursor = aux;
+        posCursor = p;
+        
         return aux;
     }
 }
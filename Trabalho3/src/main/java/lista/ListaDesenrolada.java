@@ -0,0 +1,449 @@
+package lista;
+
+import iterador.Iterador;
+
+import java.util.Arrays;
+
+/**
+ * Implementa uma lista encadeada desenrolada: cada nó (bloco) guarda até
+ * CAPACIDADE itens num vetor, ocupando as posições 0..qtd-1.
+ *
+ * Com 16 referências (4 bytes cada, com oops comprimidos) o vetor de um bloco
+ * ocupa uma linha de cache de 64 bytes, então percorrer a lista custa um
+ * salto de ponteiro a cada 16 itens em vez de um por item, como na LSE.
+ * Inserir num bloco cheio o divide ao meio; um bloco que esvazia sai da
+ * lista, e um bloco que fica pequeno junta-se ao seguinte.
+ *
+ * @param <T> Tipo a ser armazenado na lista
+ */
+public class ListaDesenrolada<T> implements ILista<T> {
+    private static final int CAPACIDADE = 16;
+
+    private Bloco head;
+    private Bloco tail;
+    private int   qtdItens;
+
+    // último bloco localizado por posição e a posição do seu primeiro item
+    private Bloco cursor;
+    private int   posCursor;
+
+    private class Bloco {
+        public final Object[] itens = new Object[CAPACIDADE];
+        public int   qtd;
+        public Bloco ant;
+        public Bloco prox;
+    }
+
+    private class IteradorDesenrolada implements Iterador<T> {
+        private Bloco bloco = head;
+        private int   i = 0;
+
+        @Override
+        public boolean temProximo() {
+            return bloco != null && i < bloco.qtd;
+        }
+
+        @Override
+        public T proximo() {
+            T item = item(bloco, i++);
+
+            if (i == bloco.qtd) {
+                bloco = bloco.prox;
+                i = 0;
+            }
+
+            return item;
+        }
+    }
+
+    @Override
+    public Iterador<T> iterador() {
+        return new IteradorDesenrolada();
+    }
+
+    @Override
+    public boolean inserirInicio(T e) {
+        if (head == null || head.qtd == CAPACIDADE) {
+            if (!novoBlocoAntes(head))
+                return false;
+        }
+
+        Bloco b = head;
+        System.arraycopy(b.itens, 0, b.itens, 1, b.qtd);
+        b.itens[0] = e;
+        b.qtd++;
+
+        // os demais blocos andaram uma posição
+        if (cursor != null && cursor != head)
+            posCursor++;
+
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirFim(T e) {
+        if (tail == null || tail.qtd == CAPACIDADE) {
+            // o bloco novo começa vazio: inserções no fim enchem os blocos
+            if (!novoBlocoDepois(tail))
+                return false;
+        }
+
+        tail.itens[tail.qtd++] = e;
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirTodos(T[] itens) {
+        for (T e : itens)
+            if (!inserirFim(e))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public boolean adicionarLista(ILista<T> outra) {
+        // conta antes: outra pode ser esta mesma lista
+        int n = outra.quantidade();
+        Iterador<T> it = outra.iterador();
+
+        for (int i = 0; i < n; i++)
+            if (!inserirFim(it.proximo()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirPosicao(int p, T e) {
+        // Verifica se P é válido
+        if (p < 0 || p > qtdItens)
+            return false;
+
+        if (p == 0)
+            return inserirInicio(e);
+        else if (p == qtdItens)
+            return inserirFim(e);
+
+        Bloco b = localizarBloco(p);
+        int i = p - posCursor;
+
+        if (b.qtd == CAPACIDADE) {
+            // divide: a metade de cima vai para um bloco novo logo depois de b
+            if (!novoBlocoDepois(b))
+                return false;
+
+            Bloco novo = b.prox;
+            int metade = CAPACIDADE / 2;
+            System.arraycopy(b.itens, metade, novo.itens, 0, CAPACIDADE - metade);
+            Arrays.fill(b.itens, metade, CAPACIDADE, null);
+            novo.qtd = CAPACIDADE - metade;
+            b.qtd = metade;
+
+            if (i > metade) {
+                b = novo;
+                i -= metade;
+                // o início de b continua o mesmo; o cursor passa para o bloco novo
+                cursor = novo;
+                posCursor += metade;
+            }
+        }
+
+        System.arraycopy(b.itens, i, b.itens, i + 1, b.qtd - i);
+        b.itens[i] = e;
+        b.qtd++;
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public T alterar(int p, T e) {
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        Bloco b = localizarBloco(p);
+        int i = p - posCursor;
+
+        T old = item(b, i);
+        b.itens[i] = e;
+
+        return old;
+    }
+
+    @Override
+    public T removerInicio() {
+        if (qtdItens == 0)
+            return null;
+
+        if (cursor != null && cursor != head)
+            posCursor--;
+
+        return removerDoBloco(head, 0);
+    }
+
+    @Override
+    public T removerFim() {
+        if (qtdItens == 0)
+            return null;
+
+        return removerDoBloco(tail, tail.qtd - 1);
+    }
+
+    @Override
+    public T removerPosicao(int p) {
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        Bloco b = localizarBloco(p);
+
+        return removerDoBloco(b, p - posCursor);
+    }
+
+    @Override
+    public T remover(T e) {
+        if (e != null) {
+            int p = posicao(e);
+
+            if (p != -1)
+                return removerPosicao(p);
+        }
+
+        return null;
+    }
+
+    @Override
+    public T getItem(int p) {
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        Bloco b = localizarBloco(p);
+
+        return item(b, p - posCursor);
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return posicao(e) != -1;
+    }
+
+    @Override
+    public int posicao(T e) {
+        int p = 0;
+
+        for (Bloco b = head; b != null; b = b.prox) {
+            for (int i = 0; i < b.qtd; i++)
+                if (e.equals(b.itens[i]))
+                    return p + i;
+            p += b.qtd;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int quantidade() {
+        return qtdItens;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return head == null;
+    }
+
+    @Override
+    public void removerTodos() {
+        Bloco aux;
+
+        while (head != null) {
+            aux = head;
+            head = head.prox;
+            aux.ant = null;
+            aux.prox = null;
+        }
+
+        tail = null;
+        cursor = null;
+        qtdItens = 0;
+    }
+
+    /**
+     * Retorna uma string com os itens da lista no formato [e1, e2, e3, ..., en].
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+        boolean primeiro = true;
+
+        buffer.append("[");
+        for (Bloco b = head; b != null; b = b.prox) {
+            for (int i = 0; i < b.qtd; i++) {
+                if (!primeiro)
+                    buffer.append(", ");
+                buffer.append(b.itens[i]);
+                primeiro = false;
+            }
+        }
+        buffer.append("]");
+
+        return buffer.toString();
+    }
+
+    /**
+     * Item i do bloco b.
+     */
+    @SuppressWarnings("unchecked")
+    private T item(Bloco b, int i) {
+        return (T) b.itens[i];
+    }
+
+    /**
+     * Retorna o bloco que contém a posição P e deixa nele o cursor, com
+     * posCursor na posição do seu primeiro item. A busca parte do head, do tail
+     * ou do cursor, o que estiver mais perto de P, e anda um bloco por vez.
+     */
+    private Bloco localizarBloco(int p) {
+        Bloco b = head;
+        int inicio = 0;
+        int distancia = p;
+
+        int inicioTail = qtdItens - tail.qtd;
+        if (Math.abs(p - inicioTail) < distancia) {
+            b = tail;
+            inicio = inicioTail;
+            distancia = Math.abs(p - inicioTail);
+        }
+
+        if (cursor != null && Math.abs(p - posCursor) < distancia) {
+            b = cursor;
+            inicio = posCursor;
+        }
+
+        while (p >= inicio + b.qtd) {
+            inicio += b.qtd;
+            b = b.prox;
+        }
+        while (p < inicio) {
+            b = b.ant;
+            inicio -= b.qtd;
+        }
+
+        cursor = b;
+        posCursor = inicio;
+
+        return b;
+    }
+
+    /**
+     * Remove o item i do bloco b. Se cursor estiver em b, posCursor deve ser o
+     * início de b antes da remoção (o que vale também para os blocos antes de b).
+     */
+    private T removerDoBloco(Bloco b, int i) {
+        T item = item(b, i);
+
+        System.arraycopy(b.itens, i + 1, b.itens, i, b.qtd - i - 1);
+        b.itens[--b.qtd] = null;
+        qtdItens--;
+
+        if (b.qtd == 0)
+            desligar(b);
+        else if (b.prox != null && b.qtd + b.prox.qtd <= CAPACIDADE / 2) {
+            // b e o seguinte cabem juntos em meio bloco: b absorve o seguinte
+            Bloco prox = b.prox;
+            System.arraycopy(prox.itens, 0, b.itens, b.qtd, prox.qtd);
+            b.qtd += prox.qtd;
+            if (cursor == prox)
+                cursor = null;
+            desligar(prox);
+        }
+
+        return item;
+    }
+
+    /**
+     * Tira o bloco b da lista.
+     */
+    private void desligar(Bloco b) {
+        if (b.ant == null)
+            head = b.prox;
+        else
+            b.ant.prox = b.prox;
+
+        if (b.prox == null)
+            tail = b.ant;
+        else
+            b.prox.ant = b.ant;
+
+        if (cursor == b)
+            cursor = null;
+
+        b.ant = null;
+        b.prox = null;
+    }
+
+    /**
+     * Liga um bloco vazio logo antes de b (ou como único bloco, se b for null).
+     */
+    private boolean novoBlocoAntes(Bloco b) {
+        Bloco novo;
+
+        try {
+            novo = new Bloco();
+        }
+        catch(OutOfMemoryError ex) {
+            return false;
+        }
+
+        novo.prox = b;
+        if (b == null) {
+            head = novo;
+            tail = novo;
+            return true;
+        }
+
+        novo.ant = b.ant;
+        if (b.ant == null)
+            head = novo;
+        else
+            b.ant.prox = novo;
+        b.ant = novo;
+
+        return true;
+    }
+
+    /**
+     * Liga um bloco vazio logo depois de b (ou como único bloco, se b for null).
+     */
+    private boolean novoBlocoDepois(Bloco b) {
+        Bloco novo;
+
+        try {
+            novo = new Bloco();
+        }
+        catch(OutOfMemoryError ex) {
+            return false;
+        }
+
+        novo.ant = b;
+        if (b == null) {
+            head = novo;
+            tail = novo;
+            return true;
+        }
+
+        novo.prox = b.prox;
+        if (b.prox == null)
+            tail = novo;
+        else
+            b.prox.ant = novo;
+        b.prox = novo;
+
+        return true;
+    }
+}
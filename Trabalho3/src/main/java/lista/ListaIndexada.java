@@ -0,0 +1,405 @@
+package lista;
+
+import iterador.Iterador;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementa uma lista duplamente encadeada com um índice (tabela hash) de
+ * cada item para os nós que o guardam, na ordem em que aparecem na lista.
+ *
+ * contem e remover(T) custam O(1) esperado: não há varredura com equals.
+ * posicao(T) acha o primeiro nó pelo índice e conta os nós até o head,
+ * ainda O(p), mas só seguindo ponteiros. As operações por posição andam a
+ * partir da ponta mais próxima.
+ *
+ * Os itens não podem mudar de hashCode/equals enquanto estiverem na lista.
+ *
+ * @param <T> Tipo a ser armazenado na lista
+ */
+public class ListaIndexada<T> implements ILista<T> {
+
+    private No  head;
+    private No  tail;
+    private int qtdItens;
+
+    // item -> nós com esse item, na ordem da lista
+    private final Map<T, ArrayList<No>> indice = new HashMap<>();
+
+    // preenchido por localizarNo: quantos nós antes da posição têm o item pedido
+    private int ocorrenciasAntes;
+
+    private class No {
+        public T  item;
+        public No ant;
+        public No prox;
+
+        public No(T item) {
+            this.item = item;
+        }
+    }
+
+    private class IteradorIndexada implements Iterador<T> {
+        private No next = head;
+
+        @Override
+        public boolean temProximo() {
+            return next != null;
+        }
+
+        @Override
+        public T proximo() {
+            T item = next.item;
+            next = next.prox;
+            return item;
+        }
+    }
+
+    @Override
+    public Iterador<T> iterador() {
+        return new IteradorIndexada();
+    }
+
+    @Override
+    public boolean inserirInicio(T e) {
+        No no;
+
+        try {
+            no = new No(e);
+        }
+        catch(OutOfMemoryError ex) {
+            return false;
+        }
+
+        no.prox = head;
+        if (head == null)
+            tail = no;
+        else
+            head.ant = no;
+        head = no;
+
+        nos(e).add(0, no);
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirFim(T e) {
+        No no;
+
+        try {
+            no = new No(e);
+        }
+        catch(OutOfMemoryError ex) {
+            return false;
+        }
+
+        no.ant = tail;
+        if (tail == null)
+            head = no;
+        else
+            tail.prox = no;
+        tail = no;
+
+        nos(e).add(no);
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirTodos(T[] itens) {
+        for (T e : itens)
+            if (!inserirFim(e))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public boolean adicionarLista(ILista<T> outra) {
+        // conta antes: outra pode ser esta mesma lista
+        int n = outra.quantidade();
+        Iterador<T> it = outra.iterador();
+
+        for (int i = 0; i < n; i++)
+            if (!inserirFim(it.proximo()))
+                return false;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirPosicao(int p, T e) {
+        No aux, no;
+
+        // Verifica se P é válido
+        if (p < 0 || p > qtdItens)
+            return false;
+
+        if (p == 0)
+            return inserirInicio(e);
+        else if (p == qtdItens)
+            return inserirFim(e);
+
+        try {
+            no = new No(e);
+        }
+        catch(OutOfMemoryError ex) {
+            return false;
+        }
+
+        // o novo nó entra antes do nó da posição p
+        aux = localizarNo(p, e);
+
+        no.ant = aux.ant;
+        no.prox = aux;
+        aux.ant.prox = no;
+        aux.ant = no;
+
+        nos(e).add(ocorrenciasAntes, no);
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public T alterar(int p, T e) {
+        No aux;
+        T old;
+
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        aux = localizarNo(p, e);
+
+        old = aux.item;
+        desindexar(aux);
+        aux.item = e;
+        nos(e).add(ocorrenciasAntes, aux);
+
+        return old;
+    }
+
+    @Override
+    public T removerInicio() {
+        if (qtdItens == 0)
+            return null;
+
+        return desligar(head);
+    }
+
+    @Override
+    public T removerFim() {
+        if (qtdItens == 0)
+            return null;
+
+        return desligar(tail);
+    }
+
+    @Override
+    public T removerPosicao(int p) {
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        return desligar(localizarNo(p));
+    }
+
+    @Override
+    public T remover(T e) {
+        if (e != null) {
+            ArrayList<No> lista = indice.get(e);
+
+            if (lista != null)
+                return desligar(lista.get(0));
+        }
+
+        return null;
+    }
+
+    @Override
+    public T getItem(int p) {
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        return localizarNo(p).item;
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return indice.containsKey(e);
+    }
+
+    @Override
+    public int posicao(T e) {
+        ArrayList<No> lista = indice.get(e);
+        if (lista == null)
+            return -1;
+
+        int p = 0;
+        for (No aux = lista.get(0).ant; aux != null; aux = aux.ant)
+            p++;
+
+        return p;
+    }
+
+    @Override
+    public int quantidade() {
+        return qtdItens;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return head == null;
+    }
+
+    @Override
+    public void removerTodos() {
+        No aux;
+
+        while (head != null) {
+            aux = head;
+            head = head.prox;
+            aux.item = null;
+            aux.ant = null;
+            aux.prox = null;
+        }
+
+        tail = null;
+        indice.clear();
+        qtdItens = 0;
+    }
+
+    /**
+     * Retorna uma string com os itens da lista no formato [e1, e2, e3, ..., en].
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        buffer.append("[");
+        for (No aux = head; aux != null; aux = aux.prox) {
+            buffer.append(aux.item);
+            if (aux.prox != null)
+                buffer.append(", ");
+        }
+        buffer.append("]");
+
+        return buffer.toString();
+    }
+
+    /**
+     * Nós do item e no índice, criando a entrada se preciso.
+     */
+    private ArrayList<No> nos(T e) {
+        return indice.computeIfAbsent(e, k -> new ArrayList<>(1));
+    }
+
+    /**
+     * Tira no do índice.
+     */
+    private void desindexar(No no) {
+        ArrayList<No> lista = indice.get(no.item);
+
+        if (lista.size() == 1)
+            indice.remove(no.item);
+        else
+            // os nós não sobrescrevem equals: remove pela identidade
+            lista.remove(no);
+    }
+
+    /**
+     * Tira o nó da lista e do índice e retorna o seu item.
+     */
+    private T desligar(No no) {
+        T item = no.item;
+
+        desindexar(no);
+
+        if (no.ant == null)
+            head = no.prox;
+        else
+            no.ant.prox = no.prox;
+
+        if (no.prox == null)
+            tail = no.ant;
+        else
+            no.prox.ant = no.ant;
+
+        no.item = null;
+        no.ant = null;
+        no.prox = null;
+
+        qtdItens--;
+
+        return item;
+    }
+
+    /**
+     * Retorna o nó da posição P, andando a partir da ponta mais próxima.
+     */
+    private No localizarNo(int p) {
+        No aux;
+
+        if (p < qtdItens / 2) {
+            aux = head;
+            for (int i = 0; i < p; i++)
+                aux = aux.prox;
+        }
+        else {
+            aux = tail;
+            for (int i = qtdItens - 1; i > p; i--)
+                aux = aux.ant;
+        }
+
+        return aux;
+    }
+
+    /**
+     * Como localizarNo(p), mas se e já está na lista conta no caminho quantas
+     * vezes ele aparece antes de P (em ocorrenciasAntes), que é onde um nó
+     * novo com e entra na lista do índice. Só inserirPosicao e alterar
+     * precisam dessa contagem.
+     */
+    private No localizarNo(int p, T e) {
+        ArrayList<No> lista = indice.get(e);
+        int iguais = 0;
+        No aux;
+
+        if (p < qtdItens / 2) {
+            aux = head;
+            for (int i = 0; i < p; i++) {
+                if (lista != null && igual(aux.item, e))
+                    iguais++;
+                aux = aux.prox;
+            }
+        }
+        else {
+            // do tail: conta as ocorrências a partir de P e desconta do total
+            aux = tail;
+            for (int i = qtdItens - 1; i > p; i--) {
+                if (lista != null && igual(aux.item, e))
+                    iguais++;
+                aux = aux.ant;
+            }
+            if (lista != null) {
+                if (igual(aux.item, e))
+                    iguais++;
+                iguais = lista.size() - iguais;
+            }
+        }
+
+        ocorrenciasAntes = iguais;
+
+        return aux;
+    }
+
+    private static boolean igual(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
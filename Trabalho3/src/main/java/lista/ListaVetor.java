@@ -0,0 +1,325 @@
+package lista;
+
+import iterador.Iterador;
+
+/**
+ * Implementa a LISTA sobre um vetor circular: os itens ficam em
+ * itens[inicio], itens[inicio + 1], ... (módulo o tamanho do vetor).
+ *
+ * getItem e alterar são O(1); inserir ou remover em qualquer uma das pontas é
+ * O(1) amortizado; nas demais posições desloca o lado mais curto.
+ * Quando o vetor enche, ele é trocado por outro fatorCrescimento vezes maior.
+ * Não há um objeto por item: o custo de memória é o vetor de referências.
+ *
+ * @param <T> Tipo a ser armazenado na lista
+ */
+public class ListaVetor<T> implements ILista<T> {
+    private static final int CAPACIDADE_INICIAL = 10;
+    private static final double FATOR_CRESCIMENTO = 1.5;
+
+    private Object[] itens;
+    private int inicio;
+    private int qtdItens;
+    private final double fatorCrescimento;
+
+    public ListaVetor() {
+        this(CAPACIDADE_INICIAL, FATOR_CRESCIMENTO);
+    }
+
+    public ListaVetor(int capacidadeInicial) {
+        this(capacidadeInicial, FATOR_CRESCIMENTO);
+    }
+
+    /**
+     * @param capacidadeInicial Tamanho inicial do vetor
+     * @param fatorCrescimento Quantas vezes o vetor aumenta quando enche (maior que 1)
+     * @throws IllegalArgumentException se capacidadeInicial for negativa ou fatorCrescimento não for maior que 1
+     */
+    public ListaVetor(int capacidadeInicial, double fatorCrescimento) {
+        if (capacidadeInicial < 0)
+            throw new IllegalArgumentException("A capacidade inicial nao pode ser negativa");
+        if (!(fatorCrescimento > 1))
+            throw new IllegalArgumentException("O fator de crescimento deve ser maior que 1");
+
+        this.itens = new Object[capacidadeInicial];
+        this.fatorCrescimento = fatorCrescimento;
+    }
+
+    private class IteradorVetor implements Iterador<T> {
+        private int proximo = 0;
+
+        @Override
+        public boolean temProximo() {
+            return proximo < qtdItens;
+        }
+
+        @Override
+        public T proximo() {
+            return item(proximo++);
+        }
+    }
+
+    @Override
+    public Iterador<T> iterador() {
+        return new IteradorVetor();
+    }
+
+    @Override
+    public boolean inserirInicio(T e) {
+        if (!garantirEspaco(qtdItens + 1))
+            return false;
+
+        inicio = inicio == 0 ? itens.length - 1 : inicio - 1;
+        itens[inicio] = e;
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirFim(T e) {
+        if (!garantirEspaco(qtdItens + 1))
+            return false;
+
+        itens[indice(qtdItens)] = e;
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirTodos(T[] novos) {
+        if (!garantirEspaco(qtdItens + novos.length))
+            return false;
+
+        for (T e : novos) {
+            itens[indice(qtdItens)] = e;
+            qtdItens++;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean adicionarLista(ILista<T> outra) {
+        // conta antes: outra pode ser esta mesma lista
+        int n = outra.quantidade();
+        if (!garantirEspaco(qtdItens + n))
+            return false;
+
+        Iterador<T> it = outra.iterador();
+        for (int i = 0; i < n; i++) {
+            itens[indice(qtdItens)] = it.proximo();
+            qtdItens++;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean inserirPosicao(int p, T e) {
+        // Verifica se P é válido
+        if (p < 0 || p > qtdItens)
+            return false;
+
+        if (p == 0)
+            return inserirInicio(e);
+        if (!garantirEspaco(qtdItens + 1))
+            return false;
+
+        if (p < qtdItens / 2) {
+            // desloca o começo uma posição para trás
+            inicio = inicio == 0 ? itens.length - 1 : inicio - 1;
+            for (int i = 0; i < p; i++)
+                itens[indice(i)] = itens[indice(i + 1)];
+        }
+        else {
+            // desloca o fim uma posição para frente
+            for (int i = qtdItens; i > p; i--)
+                itens[indice(i)] = itens[indice(i - 1)];
+        }
+
+        itens[indice(p)] = e;
+        qtdItens++;
+
+        return true;
+    }
+
+    @Override
+    public T alterar(int p, T e) {
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        T old = item(p);
+        itens[indice(p)] = e;
+
+        return old;
+    }
+
+    @Override
+    public T removerInicio() {
+        if (qtdItens == 0)
+            return null;
+
+        T item = item(0);
+        itens[inicio] = null;
+        inicio = inicio + 1 == itens.length ? 0 : inicio + 1;
+        qtdItens--;
+
+        return item;
+    }
+
+    @Override
+    public T removerFim() {
+        if (qtdItens == 0)
+            return null;
+
+        T item = item(qtdItens - 1);
+        itens[indice(qtdItens - 1)] = null;
+        qtdItens--;
+
+        return item;
+    }
+
+    @Override
+    public T removerPosicao(int p) {
+        // Verifica se P é válido
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        T item = item(p);
+
+        if (p < qtdItens / 2) {
+            // o começo anda uma posição para frente
+            for (int i = p; i > 0; i--)
+                itens[indice(i)] = itens[indice(i - 1)];
+            itens[inicio] = null;
+            inicio = inicio + 1 == itens.length ? 0 : inicio + 1;
+        }
+        else {
+            for (int i = p; i < qtdItens - 1; i++)
+                itens[indice(i)] = itens[indice(i + 1)];
+            itens[indice(qtdItens - 1)] = null;
+        }
+        qtdItens--;
+
+        return item;
+    }
+
+    @Override
+    public T remover(T e) {
+        if (e != null) {
+            int p = posicao(e);
+
+            if (p != -1)
+                return removerPosicao(p);
+        }
+
+        return null;
+    }
+
+    @Override
+    public T getItem(int p) {
+        if (p < 0 || p >= qtdItens)
+            return null;
+
+        return item(p);
+    }
+
+    @Override
+    public boolean contem(T e) {
+        return posicao(e) != -1;
+    }
+
+    @Override
+    public int posicao(T e) {
+        for (int p = 0; p < qtdItens; p++)
+            if (e.equals(itens[indice(p)]))
+                return p;
+
+        return -1;
+    }
+
+    @Override
+    public int quantidade() {
+        return qtdItens;
+    }
+
+    @Override
+    public boolean estaVazia() {
+        return qtdItens == 0;
+    }
+
+    @Override
+    public void removerTodos() {
+        for (int p = 0; p < qtdItens; p++)
+            itens[indice(p)] = null;
+
+        inicio = 0;
+        qtdItens = 0;
+    }
+
+    /**
+     * Retorna uma string com os itens da lista no formato [e1, e2, e3, ..., en].
+     */
+    @Override
+    public String toString() {
+        StringBuilder buffer = new StringBuilder();
+
+        buffer.append("[");
+        for (int p = 0; p < qtdItens; p++) {
+            if (p > 0)
+                buffer.append(", ");
+            buffer.append(itens[indice(p)]);
+        }
+        buffer.append("]");
+
+        return buffer.toString();
+    }
+
+    /**
+     * Item da posição P da lista.
+     */
+    @SuppressWarnings("unchecked")
+    private T item(int p) {
+        return (T) itens[indice(p)];
+    }
+
+    /**
+     * Posição no vetor do item da posição P da lista.
+     */
+    private int indice(int p) {
+        int i = inicio + p;
+        return i >= itens.length ? i - itens.length : i;
+    }
+
+    /**
+     * Garante espaço para n itens, trocando o vetor se preciso. Os itens
+     * passam para o começo do vetor novo.
+     *
+     * @return Falso, se não houver memória
+     */
+    private boolean garantirEspaco(int n) {
+        if (n <= itens.length)
+            return true;
+
+        int capacidade = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(n, (long) (itens.length * fatorCrescimento) + 1));
+        Object[] novo;
+
+        try {
+            novo = new Object[capacidade];
+        }
+        catch (OutOfMemoryError ex) {
+            return false;
+        }
+
+        for (int p = 0; p < qtdItens; p++)
+            novo[p] = itens[indice(p)];
+
+        itens = novo;
+        inicio = 0;
+
+        return true;
+    }
+}
@@ -0,0 +1,80 @@
+package arvbin;
+
+import iterador.Iterador;
+import lista.LSE;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * buscarLote deve responder como uma chamada de buscar por chave, na ordem
+ * das chaves pedidas, com repetidas e ausentes no meio do lote.
+ *
+ * A chave é item / 10, para conferir que volta o item e não a chave.
+ */
+class AVLBuscaEmLoteTest {
+    private static final Function<Integer, Integer> CHAVE = item -> item / 10;
+
+    @Test
+    void comoBuscasIndividuais() {
+        Random random = new Random(19);
+
+        for (int t = 0; t < 200; t++) {
+            AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+            for (int i = random.nextInt(300); i > 0; i--)
+                arvore.inserir(random.nextInt(5000));
+
+            Integer[] chaves = new Integer[random.nextInt(100)];
+            for (int i = 0; i < chaves.length; i++)
+                chaves[i] = random.nextInt(520) - 10;
+
+            List<Integer> esperado = new ArrayList<>();
+            LSE<Integer> emLista = new LSE<>();
+            for (Integer k : chaves) {
+                esperado.add(arvore.buscar(k));
+                emLista.inserirFim(k);
+            }
+
+            assertEquals(esperado, paraLista(arvore.buscarLote(chaves)));
+            assertEquals(esperado, paraLista(arvore.buscarLote(emLista)));
+        }
+    }
+
+    @Test
+    void repetidasEAusentes() {
+        AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+        for (int i = 0; i < 10; i++)
+            arvore.inserir(10 * i + 7);
+
+        List<Integer> achados = paraLista(arvore.buscarLote(new Integer[]{9, 3, 3, 42, 0, 9, -1}));
+
+        assertEquals(Arrays.asList(97, 37, 37, null, 7, 97, null), achados);
+    }
+
+    @Test
+    void loteOuArvoreVazios() {
+        AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+
+        assertTrue(arvore.buscarLote(new Integer[0]).estaVazia());
+        assertEquals(Arrays.asList(null, null), paraLista(arvore.buscarLote(new Integer[]{1, 2})));
+
+        arvore.inserir(15);
+        assertTrue(arvore.buscarLote(new LSE<>()).estaVazia());
+    }
+
+    private static List<Integer> paraLista(LSE<Integer> lista) {
+        List<Integer> itens = new ArrayList<>();
+        Iterador<Integer> it = lista.iterador();
+        while (it.temProximo())
+            itens.add(it.proximo());
+
+        return itens;
+    }
+}
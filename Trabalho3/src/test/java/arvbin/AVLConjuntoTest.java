@@ -0,0 +1,114 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * uniao, intersecao e diferenca da AVL, conferidas contra TreeMaps.
+ *
+ * Os itens são inteiros cuja chave é item / 10; o último dígito diz de qual
+ * árvore o item veio, para conferir que nas chaves comuns fica o item desta.
+ */
+class AVLConjuntoTest {
+    private static final Function<Integer, Integer> CHAVE = item -> item / 10;
+
+    private enum Operacao { UNIAO, INTERSECAO, DIFERENCA }
+
+    @Test
+    void conjuntosPequenos() {
+        Random random = new Random(17);
+
+        for (int t = 0; t < 600; t++)
+            conferir(Operacao.values()[t % 3], random.nextInt(200), random.nextInt(200), 400, random, true);
+    }
+
+    /**
+     * Acima de 8192 nós as subárvores viram tarefas do ForkJoinPool.
+     */
+    @Test
+    void conjuntosGrandesEmParalelo() {
+        Random random = new Random(23);
+
+        for (Operacao op : Operacao.values()) {
+            conferir(op, 60_000, 40_000, 150_000, random, true);
+            conferir(op, 100_000, 500, 200_000, random, true);
+            conferir(op, 500, 100_000, 200_000, random, true);
+        }
+    }
+
+    /**
+     * Com outro comparador (outra instância), outra é reordenada antes.
+     */
+    @Test
+    void outraComOutroComparador() {
+        Random random = new Random(29);
+
+        for (Operacao op : Operacao.values()) {
+            conferir(op, 300, 300, 800, random, false);
+            conferir(op, 20_000, 20_000, 50_000, random, false);
+        }
+    }
+
+    @Test
+    void operacaoComElaMesma() {
+        AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+        for (int i = 0; i < 100; i++)
+            arvore.inserir(i * 10);
+
+        arvore.uniao(arvore);
+        assertEquals(100, Invariantes.verificarAVL(arvore).size());
+        arvore.intersecao(arvore);
+        assertEquals(100, Invariantes.verificarAVL(arvore).size());
+        arvore.diferenca(arvore);
+        assertEquals(0, Invariantes.verificarAVL(arvore).size());
+    }
+
+    private static void conferir(Operacao op, int n, int m, int chaves, Random random, boolean mesmoComparador) {
+        Comparator<Integer> comparador = Integer::compare;
+        AVL<Integer, Integer> a = new AVL<>(comparador, CHAVE);
+        AVL<Integer, Integer> b = mesmoComparador ? new AVL<>(comparador, CHAVE) : new AVL<>(Integer::compare, item -> item / 10);
+        TreeMap<Integer, Integer> ra = new TreeMap<>();
+        TreeMap<Integer, Integer> rb = new TreeMap<>();
+
+        for (int i = 0; i < n; i++) {
+            int item = random.nextInt(chaves) * 10 + 1;
+            a.inserir(item);
+            ra.putIfAbsent(CHAVE.apply(item), item);
+        }
+        for (int i = 0; i < m; i++) {
+            int item = random.nextInt(chaves) * 10 + 2;
+            b.inserir(item);
+            rb.putIfAbsent(CHAVE.apply(item), item);
+        }
+
+        switch (op) {
+            case UNIAO:
+                a.uniao(b);
+                rb.forEach(ra::putIfAbsent);
+                break;
+            case INTERSECAO:
+                a.intersecao(b);
+                ra.keySet().retainAll(rb.keySet());
+                break;
+            default:
+                a.diferenca(b);
+                ra.keySet().removeAll(rb.keySet());
+        }
+
+        List<Object> esperado = new ArrayList<>(ra.values());
+        assertEquals(esperado, Invariantes.verificarAVL(a), op.toString());
+        assertEquals(ra.size(), a.quantidade());
+
+        // outra é consumida
+        assertEquals(0, b.quantidade());
+        assertEquals(List.of(), Invariantes.verificarAVL(b));
+    }
+}
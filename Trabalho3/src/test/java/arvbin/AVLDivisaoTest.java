@@ -0,0 +1,113 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * dividir e juntar da AVL, conferidos contra um TreeSet.
+ */
+class AVLDivisaoTest {
+
+    @Test
+    void dividirSeparaPelaChave() {
+        Random random = new Random(7);
+
+        for (int t = 0; t < 300; t++) {
+            AVL<Integer, Integer> arvore = new AVL<>();
+            TreeSet<Integer> referencia = new TreeSet<>();
+            int n = random.nextInt(t < 50 ? 20 : 3_000);
+
+            for (int i = 0; i < n; i++) {
+                int x = random.nextInt(4 * n + 1);
+                arvore.inserir(x);
+                referencia.add(x);
+            }
+
+            // chave presente, ausente, antes do menor e depois do maior
+            int key = random.nextInt(4 * n + 3) - 1;
+            AVL<Integer, Integer> maiores = arvore.dividir(key);
+
+            assertEquals(new ArrayList<>(referencia.headSet(key, false)), Invariantes.verificarAVL(arvore));
+            assertEquals(new ArrayList<>(referencia.tailSet(key, true)), Invariantes.verificarAVL(maiores));
+
+            // juntar desfaz o dividir
+            arvore.juntar(maiores);
+            assertEquals(new ArrayList<>(referencia), Invariantes.verificarAVL(arvore));
+            assertEquals(0, maiores.quantidade());
+            assertEquals(List.of(), Invariantes.verificarAVL(maiores));
+        }
+    }
+
+    @Test
+    void juntarArvoresDeAlturasDiferentes() {
+        for (int esquerda = 0; esquerda <= 300; esquerda += 13) {
+            for (int direita = 0; direita <= 3_000; direita += 271) {
+                AVL<Integer, Integer> a = new AVL<>();
+                AVL<Integer, Integer> b = new AVL<>();
+                List<Integer> esperado = new ArrayList<>();
+
+                for (int i = 0; i < esquerda; i++) {
+                    a.inserir(i);
+                    esperado.add(i);
+                }
+                for (int i = 0; i < direita; i++) {
+                    b.inserir(esquerda + i);
+                    esperado.add(esquerda + i);
+                }
+
+                a.juntar(b);
+                assertEquals(esperado, Invariantes.verificarAVL(a));
+                assertTrue(b.quantidade() == 0);
+
+                // e o contrário: a árvore menor recebe a maior
+                AVL<Integer, Integer> c = new AVL<>();
+                AVL<Integer, Integer> d = a.dividir(esquerda);
+                c.juntar(a);
+                c.juntar(d);
+                assertEquals(esperado, Invariantes.verificarAVL(c));
+            }
+        }
+    }
+
+    @Test
+    void juntarRecusaIntervalosSobrepostos() {
+        AVL<Integer, Integer> a = new AVL<>();
+        AVL<Integer, Integer> b = new AVL<>();
+
+        for (int i = 0; i < 10; i++) {
+            a.inserir(i);
+            b.inserir(9 + i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> a.juntar(b));
+        assertThrows(IllegalArgumentException.class, () -> a.juntar(a));
+
+        // nenhuma das duas mudou
+        assertEquals(10, Invariantes.verificarAVL(a).size());
+        assertEquals(10, Invariantes.verificarAVL(b).size());
+    }
+
+    @Test
+    void dividirComChavesGuardadas() {
+        AVL<String, Integer> arvore = new AVL<>(Integer::compare, Integer::valueOf, true);
+
+        for (int i = 0; i < 500; i++)
+            arvore.inserir(Integer.toString(i * 2));
+
+        AVL<String, Integer> maiores = arvore.dividir(301);
+        maiores.inserir("301");
+
+        assertEquals(151, Invariantes.verificarAVL(arvore).size());
+        assertEquals(350, Invariantes.verificarAVL(maiores).size());
+        assertEquals("301", maiores.menor());
+        assertEquals("300", arvore.maior());
+    }
+}
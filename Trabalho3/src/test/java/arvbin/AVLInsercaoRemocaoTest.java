@@ -0,0 +1,142 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * inserir e removerChave iterativos da AVL, conferidos contra um TreeMap,
+ * com as alturas, os tamanhos e o balanceamento verificados nó a nó.
+ */
+class AVLInsercaoRemocaoTest {
+
+    @Test
+    void sequenciaAleatoria() {
+        Random random = new Random(31);
+
+        for (int t = 0; t < 50; t++) {
+            AVL<Integer, Integer> arvore = new AVL<>();
+            TreeMap<Integer, Integer> referencia = new TreeMap<>();
+            int chaves = t % 2 == 0 ? 64 : 5_000;
+
+            for (int op = 0; op < 5_000; op++) {
+                int x = random.nextInt(chaves);
+
+                if (random.nextInt(5) < 2) {
+                    arvore.removerChave(x);
+                    referencia.remove(x);
+                }
+                else {
+                    arvore.inserir(x);
+                    referencia.putIfAbsent(x, x);
+                }
+
+                if (op % 250 == 0)
+                    assertEquals(new ArrayList<>(referencia.values()), Invariantes.verificarAVL(arvore));
+            }
+
+            assertEquals(new ArrayList<>(referencia.values()), Invariantes.verificarAVL(arvore));
+            assertEquals(referencia.size(), arvore.quantidade());
+        }
+    }
+
+    @Test
+    void sequenciasCrescenteEDecrescente() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        int n = 1 << 15;
+
+        for (int i = 0; i < n; i++)
+            arvore.inserir(i);
+        for (int i = 2 * n; i >= n; i--)
+            arvore.inserir(i);
+        Invariantes.verificarAVL(arvore);
+
+        // remove pela raiz, pelos extremos e do meio para fora
+        for (int i = 0; i < n / 2; i++) {
+            arvore.removerChave(arvore.menor());
+            arvore.removerChave(arvore.maior());
+        }
+        Invariantes.verificarAVL(arvore);
+
+        while (arvore.quantidade() > 0) {
+            arvore.removerChave(arvore.selecionar(arvore.quantidade() / 2));
+            if (arvore.quantidade() % 1_000 == 0)
+                Invariantes.verificarAVL(arvore);
+        }
+        assertEquals(0, arvore.quantidade());
+    }
+
+    @Test
+    void removerNoComDoisFilhosMantemOsItens() {
+        // itens distintos com a mesma chave mostram qual item ficou em cada nó
+        AVL<int[], Integer> arvore = new AVL<>(Integer::compare, par -> par[0]);
+        TreeMap<Integer, int[]> referencia = new TreeMap<>();
+        Random random = new Random(37);
+
+        for (int i = 0; i < 2_000; i++) {
+            int[] item = {random.nextInt(3_000), i};
+            arvore.inserir(item);
+            referencia.putIfAbsent(item[0], item);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            int x = random.nextInt(3_000);
+            arvore.removerChave(x);
+            referencia.remove(x);
+
+            for (int k = 0; k < 50; k++) {
+                int y = random.nextInt(3_000);
+                int[] esperado = referencia.get(y);
+                if (esperado == null)
+                    assertNull(arvore.buscar(y));
+                else
+                    assertSame(esperado, arvore.buscar(y));
+            }
+        }
+
+        assertEquals(referencia.size(), Invariantes.verificarAVL(arvore).size());
+    }
+
+    @Test
+    void caminhoNaoSeguraNosRemovidos() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+
+        for (int i = 0; i < 1_000; i++)
+            arvore.inserir(i);
+        for (int i = 0; i < 1_000; i += 3)
+            arvore.removerChave(i);
+        arvore.removerChave(-1);
+        arvore.inserir(500);
+
+        for (Object no : (Object[]) Invariantes.campo(arvore, "caminho"))
+            assertNull(no);
+    }
+
+    @Test
+    void comChavesGuardadas() {
+        AVL<String, Integer> arvore = new AVL<>(Integer::compare, Integer::valueOf, true);
+        TreeMap<Integer, String> referencia = new TreeMap<>();
+        Random random = new Random(41);
+
+        for (int op = 0; op < 20_000; op++) {
+            int x = random.nextInt(2_000);
+
+            if (random.nextBoolean()) {
+                arvore.removerChave(x);
+                referencia.remove(x);
+            }
+            else {
+                arvore.inserir(Integer.toString(x));
+                referencia.putIfAbsent(x, Integer.toString(x));
+            }
+        }
+
+        assertEquals(new ArrayList<>(referencia.values()), Invariantes.verificarAVL(arvore));
+    }
+}
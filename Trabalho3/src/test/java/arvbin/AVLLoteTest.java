@@ -0,0 +1,103 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * inserirTodos e removerTodos(Collection) da AVL, conferidos contra um
+ * TreeMap e pelas alturas e tamanhos guardados nos nós.
+ *
+ * A chave é item / 10: num lote com chaves repetidas, ou com chaves que já
+ * estão na árvore, fica o primeiro item, como em inserir.
+ */
+class AVLLoteTest {
+    private static final Function<Integer, Integer> CHAVE = item -> item / 10;
+
+    @Test
+    void lotesAleatorios() {
+        Random random = new Random(29);
+        AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+        TreeMap<Integer, Integer> esperado = new TreeMap<>();
+
+        for (int t = 0; t < 300; t++) {
+            // lotes de tamanhos bem diferentes do da árvore
+            int m = random.nextInt(3) == 0 ? random.nextInt(2000) : random.nextInt(20);
+
+            if (random.nextBoolean()) {
+                List<Integer> lote = new ArrayList<>();
+                for (int i = 0; i < m; i++)
+                    lote.add(random.nextInt(30_000));
+                for (Integer item : lote)
+                    esperado.putIfAbsent(CHAVE.apply(item), item);
+
+                if (random.nextBoolean())
+                    arvore.inserirTodos(lote);
+                else
+                    arvore.inserirTodos(lote.toArray(new Integer[0]));
+            }
+            else {
+                List<Integer> chaves = new ArrayList<>();
+                for (int i = 0; i < m; i++)
+                    chaves.add(random.nextInt(3100) - 50);
+                chaves.forEach(esperado::remove);
+
+                arvore.removerTodos(chaves);
+            }
+
+            assertEquals(new ArrayList<>(esperado.values()), Invariantes.verificarAVL(arvore), "lote " + t);
+        }
+    }
+
+    @Test
+    void primeiroItemDeCadaChave() {
+        AVL<Integer, Integer> arvore = new AVL<>(Integer::compare, CHAVE);
+        arvore.inserir(11);
+
+        arvore.inserirTodos(List.of(13, 25, 21, 29, 38));
+
+        assertEquals(List.of(11, 25, 38), Invariantes.verificarAVL(arvore));
+        assertEquals(3, arvore.quantidade());
+    }
+
+    @Test
+    void removerTodosNaoEsvaziaTudo() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        List<Integer> itens = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            itens.add(i);
+        Collections.shuffle(itens, new Random(3));
+        arvore.inserirTodos(itens);
+
+        // chaves repetidas e ausentes no lote são ignoradas
+        List<Integer> chaves = new ArrayList<>();
+        for (int i = 0; i < 1000; i += 2)
+            chaves.add(i);
+        chaves.add(0);
+        chaves.add(5000);
+        arvore.removerTodos(chaves);
+
+        List<Object> restantes = Invariantes.verificarAVL(arvore);
+        assertEquals(500, restantes.size());
+        for (Object item : restantes)
+            assertEquals(1, (int) item % 2);
+
+        arvore.removerTodos(List.of());
+        assertEquals(500, arvore.quantidade());
+        arvore.inserirTodos(new Integer[0]);
+        assertFalse(arvore.estaVazia());
+
+        arvore.removerTodos(new ArrayList<>(itens));
+        assertTrue(arvore.estaVazia());
+        Invariantes.verificarAVL(arvore);
+    }
+}
@@ -0,0 +1,233 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes de estresse da AVLOtimista: várias threads escrevem e leem ao mesmo
+ * tempo e, no fim, a árvore é conferida numa única thread contra um
+ * ConcurrentSkipListSet que recebeu as mesmas operações.
+ */
+class AVLOtimistaTest {
+    private static final int THREADS = 8;
+    private static final int CHAVES = 4_096;
+    private static final int OPERACOES = 200_000;
+
+    /**
+     * Cada thread é dona das chaves k com k % THREADS igual ao seu número: só
+     * ela escreve nessas chaves, então o que ela lê delas tem que bater com o
+     * que escreveu. As chaves das threads se intercalam, de modo que as
+     * rotações disputam os mesmos nós. Leituras de chaves de outras threads
+     * só exercitam as descidas otimistas.
+     */
+    @Test
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void escritasConcorrentesEmChavesIntercaladas() throws Exception {
+        AVLOtimista<Integer, Integer> arvore = new AVLOtimista<>();
+        ConcurrentSkipListSet<Integer> referencia = new ConcurrentSkipListSet<>();
+
+        executar(THREADS, id -> {
+            Random random = new Random(id);
+
+            for (int op = 0; op < OPERACOES; op++) {
+                int chave = random.nextInt(CHAVES / THREADS) * THREADS + id;
+
+                switch (random.nextInt(4)) {
+                    case 0:
+                        arvore.inserir(chave);
+                        referencia.add(chave);
+                        break;
+                    case 1:
+                        arvore.removerChave(chave);
+                        referencia.remove(chave);
+                        break;
+                    case 2:
+                        if (arvore.contem(chave) != referencia.contains(chave))
+                            throw new AssertionError("contem(" + chave + ") divergiu da referencia");
+                        break;
+                    default:
+                        // chave de qualquer thread: o resultado não é checado
+                        arvore.contemChave(random.nextInt(CHAVES));
+                }
+            }
+        });
+
+        conferir(arvore, referencia);
+    }
+
+    /**
+     * Todas as threads inserem e removem as mesmas chaves: cada chave termina
+     * na árvore se, e só se, a última operação sobre ela foi uma inserção, o
+     * que não dá para saber; então as threads primeiro só inserem e depois
+     * só removem, separadas por uma barreira.
+     */
+    @Test
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void insercoesERemocoesDisputandoAsMesmasChaves() throws Exception {
+        AVLOtimista<Integer, Integer> arvore = new AVLOtimista<>();
+        ConcurrentSkipListSet<Integer> referencia = new ConcurrentSkipListSet<>();
+
+        executar(THREADS, id -> {
+            Random random = new Random(100 + id);
+            for (int i = 0; i < CHAVES * 4; i++) {
+                int chave = random.nextInt(CHAVES);
+                arvore.inserir(chave);
+                referencia.add(chave);
+            }
+        });
+        conferir(arvore, referencia);
+
+        // remove as chaves pares, todas as threads ao mesmo tempo
+        executar(THREADS, id -> {
+            Random random = new Random(200 + id);
+            for (int i = 0; i < CHAVES * 4; i++) {
+                int chave = random.nextInt(CHAVES / 2) * 2;
+                arvore.removerChave(chave);
+                referencia.remove(chave);
+            }
+            for (int chave = 0; chave < CHAVES; chave += 2)
+                arvore.removerChave(chave);
+        });
+        referencia.removeIf(chave -> chave % 2 == 0);
+        conferir(arvore, referencia);
+
+        executar(THREADS, id -> {
+            for (int chave = 1; chave < CHAVES; chave += 2)
+                arvore.removerChave(chave);
+        });
+        referencia.clear();
+        conferir(arvore, referencia);
+        assertTrue(arvore.estaVazia());
+        assertNull(arvore.menor());
+        assertNull(arvore.maior());
+    }
+
+    /**
+     * Leitores percorrem a árvore enquanto escritores a alteram. Os percursos
+     * são fracamente consistentes: têm que sair em ordem, sem repetição, e
+     * conter todas as chaves fixas, que nenhum escritor toca (as de resto 1
+     * na divisão por THREADS; os escritores são as threads pares).
+     */
+    @Test
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void percursosDuranteEscritasSaemEmOrdem() throws Exception {
+        AVLOtimista<Integer, Integer> arvore = new AVLOtimista<>();
+        ConcurrentSkipListSet<Integer> referencia = new ConcurrentSkipListSet<>();
+        List<Integer> fixas = new ArrayList<>();
+
+        for (int chave = 1; chave < CHAVES; chave += THREADS) {
+            arvore.inserir(chave);
+            referencia.add(chave);
+            fixas.add(chave);
+        }
+
+        executar(THREADS, id -> {
+            Random random = new Random(300 + id);
+
+            for (int op = 0; op < OPERACOES / 10; op++) {
+                if (id % 2 == 0) {
+                    int chave = random.nextInt(CHAVES / THREADS) * THREADS + id;
+                    if (random.nextBoolean()) {
+                        arvore.inserir(chave);
+                        referencia.add(chave);
+                    }
+                    else {
+                        arvore.removerChave(chave);
+                        referencia.remove(chave);
+                    }
+                }
+                else if (op % 100 == 0) {
+                    List<Integer> itens = new ArrayList<>();
+                    if (op % 200 == 0)
+                        arvore.emOrdem(itens::add);
+                    else {
+                        arvore.emOrdemInvertida(itens::add);
+                        Collections.reverse(itens);
+                    }
+
+                    for (int i = 1; i < itens.size(); i++)
+                        if (itens.get(i - 1) >= itens.get(i))
+                            throw new AssertionError("percurso fora de ordem ou com repeticao");
+                    if (!itens.containsAll(fixas))
+                        throw new AssertionError("percurso perdeu uma chave fixa");
+                }
+            }
+        });
+
+        conferir(arvore, referencia);
+    }
+
+    /**
+     * Conferência numa única thread, depois que as escritas terminaram.
+     */
+    private static void conferir(AVLOtimista<Integer, Integer> arvore, ConcurrentSkipListSet<Integer> referencia) {
+        List<Integer> itens = new ArrayList<>();
+        arvore.emOrdem(itens::add);
+
+        assertEquals(new ArrayList<>(referencia), itens);
+        assertEquals(referencia.size(), arvore.quantidade());
+
+        if (!referencia.isEmpty()) {
+            assertEquals(referencia.first(), arvore.menor());
+            assertEquals(referencia.last(), arvore.maior());
+        }
+
+        for (int chave = -1; chave <= CHAVES; chave++)
+            assertEquals(referencia.contains(chave), arvore.contemChave(chave), "contemChave(" + chave + ")");
+
+        int k = 0;
+        for (Integer chave : referencia) {
+            if (k % 97 == 0) {
+                assertEquals(chave, arvore.selecionar(k));
+                assertEquals(k, arvore.posto(chave));
+            }
+            k++;
+        }
+    }
+
+    private interface Tarefa {
+        void executar(int id) throws Exception;
+    }
+
+    /**
+     * Roda a tarefa em n threads que partem juntas e repassa a primeira falha.
+     */
+    private static void executar(int n, Tarefa tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(n);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < n; i++) {
+                int id = i;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarefa.executar(id);
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> futuro : futuros)
+                futuro.get();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
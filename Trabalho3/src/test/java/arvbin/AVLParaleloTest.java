@@ -0,0 +1,142 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams, Spliterator e agregações fork-join da AVL: devem dar o mesmo
+ * resultado das versões sequenciais, inclusive acima de 8192 nós, quando as
+ * subárvores viram tarefas do ForkJoinPool.
+ */
+class AVLParaleloTest {
+
+    @Test
+    void streamsEmOrdem() {
+        for (int n : new int[]{0, 1, 100, 50_000}) {
+            AVL<Integer, Integer> arvore = arvoreAleatoria(n, 3);
+            List<Integer> esperado = new ArrayList<>();
+            arvore.emOrdem(esperado::add);
+
+            assertEquals(esperado, arvore.stream().collect(Collectors.toList()));
+            assertEquals(esperado, arvore.parallelStream().collect(Collectors.toList()));
+            assertEquals(esperado.size(), arvore.parallelStream().count());
+            assertEquals(esperado.stream().mapToLong(i -> i).sum(),
+                    arvore.parallelStream().mapToLong(i -> i).sum());
+        }
+    }
+
+    @Test
+    void divisoesCobremTudoNaOrdem() {
+        AVL<Integer, Integer> arvore = arvoreAleatoria(1000, 5);
+        List<Integer> esperado = new ArrayList<>();
+        arvore.emOrdem(esperado::add);
+
+        Spliterator<Integer> raiz = arvore.stream().spliterator();
+        assertTrue(raiz.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(esperado.size(), raiz.getExactSizeIfKnown());
+
+        List<Integer> visitados = new ArrayList<>();
+        dividir(raiz, visitados, 0);
+        assertEquals(esperado, visitados);
+    }
+
+    @Test
+    void tryAdvanceDepoisForEachRemaining() {
+        AVL<Integer, Integer> arvore = arvoreAleatoria(300, 7);
+        List<Integer> esperado = new ArrayList<>();
+        arvore.emOrdem(esperado::add);
+
+        Spliterator<Integer> s = arvore.stream().spliterator();
+        Spliterator<Integer> prefixo = s.trySplit();
+        List<Integer> visitados = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(prefixo.tryAdvance(visitados::add));
+        // depois de tryAdvance o tamanho continua exato
+        assertEquals(prefixo.estimateSize() + 10 + s.estimateSize(), esperado.size());
+        prefixo.forEachRemaining(visitados::add);
+        s.forEachRemaining(visitados::add);
+
+        assertEquals(esperado, visitados);
+    }
+
+    @Test
+    void alteracaoDuranteOPercurso() {
+        AVL<Integer, Integer> arvore = arvoreAleatoria(100, 9);
+
+        Iterator<Integer> it = arvore.stream().iterator();
+        it.next();
+        arvore.inserir(-1);
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        assertThrows(ConcurrentModificationException.class,
+                () -> arvore.stream().forEach(item -> arvore.removerChave(item)));
+    }
+
+    @Test
+    void maxSomaParaleloComoOSequencial() {
+        for (int n : new int[]{0, 1, 2, 1000, 50_000}) {
+            AVL<Integer, Integer> arvore = arvoreAleatoria(n, 11);
+
+            assertEquals(arvore.maxSoma().toString(), arvore.maxSomaParalelo().toString(), "n = " + n);
+        }
+    }
+
+    @Test
+    void reduzirEmOrdem() {
+        for (int n : new int[]{0, 1, 1000, 30_000}) {
+            AVL<Integer, Integer> arvore = arvoreAleatoria(n, 13);
+            List<Integer> esperado = new ArrayList<>();
+            arvore.emOrdem(esperado::add);
+
+            long soma = esperado.stream().mapToLong(i -> i).sum();
+            assertEquals(soma, (long) arvore.reduzir(0L, i -> (long) i, Long::sum));
+            assertEquals(esperado.size(), (int) arvore.reduzir(0, i -> 1, Integer::sum));
+
+            // associativo mas não comutativo: a ordem dos itens precisa se manter
+            String concatenado = esperado.stream().map(i -> i + ",").collect(Collectors.joining());
+            assertEquals(concatenado, arvore.reduzir("", i -> i + ",", String::concat));
+        }
+    }
+
+    /**
+     * Divide até as partes ficarem pequenas, conferindo o tamanho exato de
+     * cada uma, e percorre as partes na ordem.
+     */
+    private static void dividir(Spliterator<Integer> s, List<Integer> visitados, int nivel) {
+        long tamanho = s.getExactSizeIfKnown();
+        Spliterator<Integer> prefixo = nivel < 20 ? s.trySplit() : null;
+
+        if (prefixo == null) {
+            int antes = visitados.size();
+            s.forEachRemaining(visitados::add);
+            assertEquals(tamanho, visitados.size() - antes);
+            return;
+        }
+
+        assertEquals(tamanho, prefixo.getExactSizeIfKnown() + s.getExactSizeIfKnown());
+        dividir(prefixo, visitados, nivel + 1);
+        dividir(s, visitados, nivel + 1);
+    }
+
+    private static AVL<Integer, Integer> arvoreAleatoria(int n, long semente) {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        Random random = new Random(semente);
+
+        while (arvore.quantidade() < n)
+            arvore.inserir(random.nextInt(4 * n) - n);
+
+        return arvore;
+    }
+}
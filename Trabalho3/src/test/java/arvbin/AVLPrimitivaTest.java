@@ -0,0 +1,172 @@
+package arvbin;
+
+import lista.LSE;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IntAVL e LongAVL são a mesma árvore (AVLPrimitiva) e devem ter a forma
+ * da AVL de Integer depois da mesma sequência de operações.
+ */
+class AVLPrimitivaTest {
+
+    @Test
+    void mesmaFormaQueAVL() {
+        Random random = new Random(5);
+        AVL<Integer, Integer> avl = new AVL<>();
+        IntAVL ints = new IntAVL();
+        LongAVL longs = new LongAVL();
+
+        for (int op = 0; op < 10_000; op++) {
+            int x = random.nextInt(1_500) - 500;
+
+            if (random.nextInt(3) == 0) {
+                avl.removerChave(x);
+                ints.removerChave(x);
+                longs.removerChave(x);
+            }
+            else {
+                avl.inserir(x);
+                ints.inserir(x);
+                longs.inserir(x);
+            }
+
+            if (op % 250 == 0)
+                comparar(avl, ints, longs, random);
+        }
+        comparar(avl, ints, longs, random);
+    }
+
+    @Test
+    void menorCaminhoEmIntListaEVetor() {
+        IntAVL ints = new IntAVL();
+        LongAVL longs = new LongAVL();
+        for (int i = 1; i <= 7; i++) {
+            ints.inserir(i);
+            longs.inserir(i);
+        }
+
+        // 4 na raiz, 2 e 6 no nível 1
+        assertArrayEquals(new int[]{1, 2, 4, 6, 7}, ints.menorCaminho(1, 7).paraArray());
+        assertArrayEquals(new long[]{7, 6, 4, 2, 1}, longs.menorCaminho(7, 1));
+        assertArrayEquals(new int[]{3}, ints.menorCaminho(3, 3).paraArray());
+        assertEquals(0, ints.menorCaminho(1, 8).quantidade());
+        assertEquals(0, longs.menorCaminho(0, 7).length);
+    }
+
+    @Test
+    void menorCaminhoIgualAoDaAVL() {
+        Random random = new Random(9);
+        AVL<Integer, Integer> avl = new AVL<>();
+        IntAVL ints = new IntAVL();
+        for (int i = 0; i < 300; i++) {
+            int x = random.nextInt(1_000);
+            avl.inserir(x);
+            ints.inserir(x);
+        }
+
+        List<Integer> chaves = new ArrayList<>();
+        avl.emOrdem(chaves::add);
+        chaves.add(-1);
+        for (int a : chaves) {
+            for (int k = 0; k < 20; k++) {
+                int b = chaves.get(random.nextInt(chaves.size()));
+
+                LSE<Integer> esperado = avl.menorCaminho(a, b);
+                int[] vetor = new int[esperado.quantidade()];
+                for (int i = 0; i < vetor.length; i++)
+                    vetor[i] = esperado.getItem(i);
+                assertArrayEquals(vetor, ints.menorCaminho(a, b).paraArray(), a + " -> " + b);
+            }
+        }
+    }
+
+    @Test
+    void chavesForaDoIntervaloDeInt() {
+        LongAVL longs = new LongAVL();
+        longs.inserir(Long.MIN_VALUE);
+        longs.inserir(0);
+        longs.inserir(Long.MAX_VALUE);
+
+        assertEquals(Long.MIN_VALUE, longs.menor());
+        assertEquals(Long.MAX_VALUE, longs.maior());
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE}, longs.menorCaminho(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertThrows(UnsupportedOperationException.class, longs::maxSoma);
+    }
+
+    @Test
+    void arvoreVazia() {
+        IntAVL ints = new IntAVL();
+        LongAVL longs = new LongAVL();
+
+        assertTrue(ints.estaVazia());
+        assertTrue(longs.estaVazia());
+        assertThrows(NoSuchElementException.class, ints::menor);
+        assertThrows(NoSuchElementException.class, longs::maior);
+        assertEquals(0, ints.maxSoma().valor);
+        assertEquals("", longs.maxSoma().caminho);
+    }
+
+    private static void comparar(AVL<Integer, Integer> avl, IntAVL ints, LongAVL longs, Random random) {
+        assertEquals(avl.quantidade(), ints.quantidade());
+        assertEquals(avl.quantidade(), longs.quantidade());
+        assertEquals(avl.estaVazia(), ints.estaVazia());
+
+        List<Integer> esperado = new ArrayList<>();
+        avl.emOrdem(esperado::add);
+        List<Integer> deInts = new ArrayList<>();
+        ints.emOrdem(deInts::add);
+        List<Integer> deLongs = new ArrayList<>();
+        longs.emOrdem(chave -> deLongs.add((int) chave));
+        assertEquals(esperado, deInts);
+        assertEquals(esperado, deLongs);
+
+        List<Integer> invertida = new ArrayList<>();
+        ints.emOrdemInvertida(invertida::add);
+        List<Integer> avlInvertida = new ArrayList<>();
+        avl.emOrdemInvertida(avlInvertida::add);
+        assertEquals(avlInvertida, invertida);
+
+        if (esperado.isEmpty())
+            return;
+
+        assertEquals(avl.menor(), ints.menor());
+        assertEquals((long) avl.maior(), longs.maior());
+        assertEquals(avl.maxSoma().toString(), ints.maxSoma().toString());
+        assertEquals(avl.maxSoma().toString(), longs.maxSoma().toString());
+
+        for (int n = 0; n < 4; n++) {
+            List<Integer> nivel = new ArrayList<>();
+            avl.nivel(n, nivel::add);
+            List<Integer> nivelInts = new ArrayList<>();
+            ints.nivel(n, nivelInts::add);
+            assertEquals(nivel, nivelInts);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            int a = random.nextInt(1_600) - 550;
+            int b = esperado.get(random.nextInt(esperado.size()));
+
+            assertEquals(avl.codigo(a), ints.codigo(a));
+            assertEquals(avl.codigo(b), longs.codigo(b));
+            assertEquals(avl.contemChave(a), ints.contemChave(a));
+            assertEquals(avl.contemChave(a), longs.contemChave(a));
+
+            int[] caminho = new int[avl.menorCaminho(a, b).quantidade()];
+            int[] n = {0};
+            avl.menorCaminho(a, b, (Visitante<Integer>) item -> caminho[n[0]++] = item);
+            assertArrayEquals(caminho, ints.menorCaminho(a, b).paraArray());
+            assertArrayEquals(Arrays.stream(caminho).asLongStream().toArray(), longs.menorCaminho(a, b));
+        }
+    }
+}
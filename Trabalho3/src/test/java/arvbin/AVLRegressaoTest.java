@@ -0,0 +1,88 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comportamentos da AVL original que foram corrigidos e mudaram o
+ * resultado de métodos públicos.
+ */
+class AVLRegressaoTest {
+
+    @Test
+    void emOrdemInvertidaDeArvoreVaziaNaoVisitaNada() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        List<Integer> visitados = new ArrayList<>();
+
+        arvore.emOrdemInvertida(visitados::add);
+
+        assertTrue(visitados.isEmpty());
+    }
+
+    @Test
+    void emOrdemInvertidaVisitaEmOrdemDecrescente() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        List<Integer> esperado = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(1_000);
+            if (!esperado.contains(x))
+                esperado.add(x);
+            arvore.inserir(x);
+        }
+        esperado.sort(Collections.reverseOrder());
+
+        List<Integer> visitados = new ArrayList<>();
+        arvore.emOrdemInvertida(visitados::add);
+
+        assertEquals(esperado, visitados);
+    }
+
+    @Test
+    void emOrdemInvertidaComTresNiveis() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        for (int i = 1; i <= 7; i++)
+            arvore.inserir(i);
+
+        List<Integer> visitados = new ArrayList<>();
+        arvore.emOrdemInvertida(visitados::add);
+
+        // a versão original chamava emOrdem nas subárvores e dava [5, 6, 7, 4, 1, 2, 3]
+        assertEquals(List.of(7, 6, 5, 4, 3, 2, 1), visitados);
+    }
+
+    @Test
+    void estaVaziaEmArvoreVazia() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+
+        // a versão original retornava raiz != null: falso aqui
+        assertTrue(arvore.estaVazia());
+    }
+
+    @Test
+    void estaVaziaAcompanhaInsercoesERemocoes() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+
+        arvore.inserir(1);
+        assertFalse(arvore.estaVazia());
+
+        arvore.inserir(2);
+        arvore.removerChave(1);
+        assertFalse(arvore.estaVazia());
+
+        arvore.removerChave(2);
+        assertTrue(arvore.estaVazia());
+
+        arvore.inserir(3);
+        arvore.removeTodos();
+        assertTrue(arvore.estaVazia());
+    }
+}
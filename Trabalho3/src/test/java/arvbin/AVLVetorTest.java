@@ -0,0 +1,149 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A AVLVetor deve se comportar como a AVL: a mesma sequência de operações
+ * é aplicada às duas e as consultas são comparadas.
+ */
+class AVLVetorTest {
+
+    @Test
+    void mesmaSequenciaQueAVL() {
+        Random random = new Random(42);
+        AVL<Integer, Integer> avl = new AVL<>();
+        AVLVetor<Integer, Integer> vetor = new AVLVetor<>();
+
+        for (int op = 0; op < 20_000; op++) {
+            int x = random.nextInt(2_000);
+
+            if (random.nextInt(3) == 0) {
+                avl.removerChave(x);
+                vetor.removerChave(x);
+            }
+            else {
+                avl.inserir(x);
+                vetor.inserir(x);
+            }
+
+            if (op % 500 == 0) {
+                assertEquals(Invariantes.verificarAVL(avl), Invariantes.verificarAVLVetor(vetor));
+                compararConsultas(avl, vetor, random);
+            }
+        }
+
+        assertEquals(Invariantes.verificarAVL(avl), Invariantes.verificarAVLVetor(vetor));
+        compararConsultas(avl, vetor, random);
+    }
+
+    @Test
+    void esvaziaEReaproveita() {
+        AVLVetor<Integer, Integer> vetor = new AVLVetor<>();
+
+        for (int i = 0; i < 1_000; i++)
+            vetor.inserir(i);
+        for (int i = 0; i < 1_000; i++)
+            vetor.removerChave(i);
+
+        assertTrue(vetor.estaVazia());
+        assertEquals(0, vetor.quantidade());
+        assertNull(vetor.menor());
+        assertNull(vetor.maior());
+
+        for (int i = 0; i < 1_000; i++)
+            vetor.inserir(i);
+        assertEquals(1_000, vetor.quantidade());
+        Invariantes.verificarAVLVetor(vetor);
+    }
+
+    @Test
+    void removerChaveLiberaSlotsParaAsProximasInsercoes() {
+        AVLVetor<Integer, Integer> vetor = new AVLVetor<>();
+
+        for (int i = 0; i < 1_000; i++)
+            vetor.inserir(i);
+
+        int capacidade = ((Object[]) Invariantes.campo(vetor, "itens")).length;
+        int proximoSlot = (int) Invariantes.campo(vetor, "proximoSlot");
+
+        // remove metade e insere outras tantas chaves novas
+        for (int i = 0; i < 1_000; i += 2)
+            vetor.removerChave(i);
+        for (int i = 0; i < 500; i++)
+            vetor.inserir(1_000 + i);
+
+        // todas as inserções usaram slots da lista livre
+        assertEquals(capacidade, ((Object[]) Invariantes.campo(vetor, "itens")).length);
+        assertEquals(proximoSlot, (int) Invariantes.campo(vetor, "proximoSlot"));
+        assertEquals(1_000, vetor.quantidade());
+        Invariantes.verificarAVLVetor(vetor);
+
+        // removerChave de chave ausente não mexe na lista livre
+        vetor.removerChave(-1);
+        vetor.inserir(5_000);
+        assertEquals(proximoSlot + 1, (int) Invariantes.campo(vetor, "proximoSlot"));
+    }
+
+    @Test
+    void alturasSeguemOLimiteDaAVL() {
+        AVLVetor<Integer, Integer> vetor = new AVLVetor<>();
+        int n = 1 << 14;
+
+        // inserção em ordem crescente é o pior caso de uma ABB sem balanceamento
+        for (int i = 0; i < n; i++)
+            vetor.inserir(i);
+
+        int altura = ((int[]) Invariantes.campo(vetor, "h"))[(int) Invariantes.campo(vetor, "raiz")];
+        assertTrue(altura <= 1.4405 * (Math.log(n + 2) / Math.log(2)) - 0.3277, "altura " + altura);
+
+        // os níveis de 0 até a altura juntos têm todos os itens
+        int total = 0;
+        for (int nivel = 0; nivel <= altura; nivel++) {
+            List<Integer> itens = new ArrayList<>();
+            vetor.nivel(nivel, itens::add);
+            assertTrue(!itens.isEmpty());
+            total += itens.size();
+        }
+        assertEquals(n, total);
+    }
+
+    private static void compararConsultas(AVL<Integer, Integer> avl, AVLVetor<Integer, Integer> vetor, Random random) {
+        assertEquals(avl.quantidade(), vetor.quantidade());
+        assertEquals(avl.estaVazia(), vetor.estaVazia());
+        assertEquals(vetor.quantidade() == 0, vetor.estaVazia());
+        assertEquals(avl.menor(), vetor.menor());
+        assertEquals(avl.maior(), vetor.maior());
+
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(2_100) - 50;
+            int y = random.nextInt(2_100) - 50;
+
+            assertEquals(avl.buscar(x), vetor.buscar(x));
+            assertEquals(avl.contemChave(x), vetor.contemChave(x));
+            assertEquals(avl.contem(x), vetor.contem(x));
+            assertEquals(avl.posto(x), vetor.posto(x));
+            assertEquals(avl.contarIntervalo(x, y), vetor.contarIntervalo(x, y));
+            assertEquals(avl.selecionar(x), vetor.selecionar(x));
+            assertEquals(avl.menorCaminho(x, y).toString(), vetor.menorCaminho(x, y).toString());
+        }
+
+        List<Integer> ordem = new ArrayList<>();
+        List<Integer> invertida = new ArrayList<>();
+        vetor.emOrdem(ordem::add);
+        vetor.emOrdemInvertida(invertida::add);
+        List<Integer> esperado = new ArrayList<>();
+        avl.emOrdem(esperado::add);
+        assertEquals(esperado, ordem);
+        Collections.reverse(esperado);
+        assertEquals(esperado, invertida);
+    }
+}
@@ -0,0 +1,99 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * selecionar, posto e contarIntervalo de todas as árvores da fábrica,
+ * conferidos contra um TreeSet depois de inserções e remoções (que passam
+ * pelas rotações e precisam manter os tamanhos das subárvores).
+ */
+class EstatisticaDeOrdemTest {
+
+    @Test
+    void comoUmTreeSet() {
+        for (FabricaABB.Tipo tipo : FabricaABB.Tipo.values()) {
+            IABB<Integer, Integer> arvore = FabricaABB.criar(tipo);
+            TreeSet<Integer> esperado = new TreeSet<>();
+            Random random = new Random(41);
+
+            for (int op = 0; op < 4000; op++) {
+                int x = random.nextInt(600);
+                if (random.nextInt(3) == 0) {
+                    arvore.removerChave(x);
+                    esperado.remove(x);
+                }
+                else {
+                    arvore.inserir(x);
+                    esperado.add(x);
+                }
+
+                if (op % 400 == 0)
+                    conferir(tipo.name(), arvore, esperado, random);
+            }
+            conferir(tipo.name(), arvore, esperado, random);
+        }
+    }
+
+    @Test
+    void arvoreVazia() {
+        for (FabricaABB.Tipo tipo : FabricaABB.Tipo.values()) {
+            IABB<Integer, Integer> arvore = FabricaABB.criar(tipo);
+
+            assertNull(arvore.selecionar(0), tipo.name());
+            assertEquals(0, arvore.posto(5), tipo.name());
+            assertEquals(0, arvore.contarIntervalo(0, 10), tipo.name());
+        }
+    }
+
+    @Test
+    void limitesDoIntervalo() {
+        AVL<Integer, Integer> arvore = new AVL<>();
+        for (int i = 0; i < 10; i++)
+            arvore.inserir(2 * i);
+
+        // o intervalo é fechado e os limites não precisam existir
+        assertEquals(3, arvore.contarIntervalo(4, 8));
+        assertEquals(2, arvore.contarIntervalo(3, 7));
+        assertEquals(1, arvore.contarIntervalo(6, 6));
+        assertEquals(0, arvore.contarIntervalo(7, 7));
+        assertEquals(0, arvore.contarIntervalo(8, 4));
+        assertEquals(10, arvore.contarIntervalo(-100, 100));
+
+        assertEquals(0, arvore.posto(0));
+        assertEquals(3, arvore.posto(5));
+        assertEquals(3, arvore.posto(6));
+        assertEquals(10, arvore.posto(100));
+
+        assertEquals(0, arvore.selecionar(0));
+        assertEquals(18, arvore.selecionar(9));
+        assertNull(arvore.selecionar(10));
+        assertNull(arvore.selecionar(-1));
+    }
+
+    private static void conferir(String msg, IABB<Integer, Integer> arvore, TreeSet<Integer> esperado, Random random) {
+        List<Integer> ordem = new ArrayList<>(esperado);
+
+        assertEquals(ordem.size(), arvore.quantidade(), msg);
+        for (int k = 0; k < ordem.size(); k++)
+            assertEquals(ordem.get(k), arvore.selecionar(k), msg);
+        assertNull(arvore.selecionar(-1), msg);
+        assertNull(arvore.selecionar(ordem.size()), msg);
+
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(650) - 25;
+            int hi = random.nextInt(650) - 25;
+
+            assertEquals(esperado.headSet(lo).size(), arvore.posto(lo), msg);
+            int noIntervalo = lo > hi ? 0 : esperado.subSet(lo, true, hi, true).size();
+            assertEquals(noIntervalo, arvore.contarIntervalo(lo, hi), msg + " [" + lo + ", " + hi + "]");
+        }
+    }
+}
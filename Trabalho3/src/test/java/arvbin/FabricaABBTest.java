@@ -0,0 +1,84 @@
+package arvbin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * As árvores da fábrica devem responder igual às mesmas consultas, qualquer
+ * que seja o balanceamento.
+ */
+class FabricaABBTest {
+
+    @Test
+    void niveisCobremTodosOsItens() {
+        for (FabricaABB.Tipo tipo : FabricaABB.Tipo.values()) {
+            IABB<Integer, Integer> arvore = FabricaABB.criar(tipo);
+            List<Integer> esperado = new ArrayList<>();
+            for (int i = 0; i < 500; i++)
+                esperado.add(i);
+            Collections.shuffle(esperado, new Random(7));
+            esperado.forEach(arvore::inserir);
+
+            // desce nível a nível até o primeiro que não visita nada
+            List<Integer> visitados = new ArrayList<>();
+            int n = 0;
+            while (true) {
+                List<Integer> nivel = new ArrayList<>();
+                arvore.nivel(n, nivel::add);
+                if (nivel.isEmpty())
+                    break;
+                visitados.addAll(nivel);
+                n++;
+            }
+
+            Collections.sort(esperado);
+            Collections.sort(visitados);
+            assertEquals(esperado, visitados, tipo.name());
+            // 500 itens balanceados: entre 9 e 2 log2(501) níveis
+            assertTrue(n >= 9 && n <= 18, tipo + ": " + n + " niveis");
+
+            List<Integer> fora = new ArrayList<>();
+            arvore.nivel(-1, fora::add);
+            arvore.nivel(n + 5, fora::add);
+            assertTrue(fora.isEmpty(), tipo.name());
+        }
+    }
+
+    @Test
+    void estaVaziaSoSemItens() {
+        for (FabricaABB.Tipo tipo : FabricaABB.Tipo.values()) {
+            IABB<Integer, Integer> arvore = FabricaABB.criar(tipo);
+            assertTrue(arvore.estaVazia(), tipo.name());
+
+            arvore.inserir(1);
+            arvore.inserir(2);
+            assertFalse(arvore.estaVazia(), tipo.name());
+
+            arvore.removerChave(1);
+            assertFalse(arvore.estaVazia(), tipo.name());
+
+            arvore.removerChave(2);
+            assertTrue(arvore.estaVazia(), tipo.name());
+        }
+    }
+
+    @Test
+    void nivelDeArvoreVaziaNaoVisitaNada() {
+        for (FabricaABB.Tipo tipo : FabricaABB.Tipo.values()) {
+            IABB<Integer, Integer> arvore = FabricaABB.criar(tipo);
+            List<Integer> visitados = new ArrayList<>();
+
+            arvore.nivel(0, visitados::add);
+
+            assertTrue(visitados.isEmpty(), tipo.name());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package arvbin;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere, lendo os campos privados das árvores, que as alturas e os
+ * tamanhos guardados nos nós batem com a estrutura e que ela está balanceada.
+ */
+final class Invariantes {
+    private static final int NULO = -1;
+
+    private Invariantes() {
+    }
+
+    /**
+     * Verifica a AVL e retorna os itens em ordem.
+     */
+    static List<Object> verificarAVL(AVL<?, ?> arvore) {
+        List<Object> itens = new ArrayList<>();
+        int[] ht = verificarNo(campo(arvore, "raiz"), itens);
+
+        assertEquals(ht[1], (int) campo(arvore, "quantidade"), "quantidade");
+
+        return itens;
+    }
+
+    /**
+     * Verifica a AVLVetor e retorna os itens em ordem.
+     */
+    static List<Object> verificarAVLVetor(AVLVetor<?, ?> arvore) {
+        List<Object> itens = new ArrayList<>();
+        int[] ht = verificarSlot(arvore, (int) campo(arvore, "raiz"), itens);
+
+        assertEquals(ht[1], (int) campo(arvore, "quantidade"), "quantidade");
+
+        return itens;
+    }
+
+    /**
+     * @return {altura, tamanho} da subárvore de no
+     */
+    private static int[] verificarNo(Object no, List<Object> itens) {
+        if (no == null)
+            return new int[]{-1, 0};
+
+        int[] e = verificarNo(campo(no, "esq"), itens);
+        itens.add(campo(no, "item"));
+        int[] d = verificarNo(campo(no, "dir"), itens);
+
+        int h = Math.max(e[0], d[0]) + 1;
+        int tamanho = e[1] + d[1] + 1;
+
+        assertTrue(Math.abs(e[0] - d[0]) <= 1, "desbalanceada");
+        assertEquals(h, (int) campo(no, "h"), "altura");
+        assertEquals(tamanho, (int) campo(no, "tamanho"), "tamanho");
+
+        return new int[]{h, tamanho};
+    }
+
+    private static int[] verificarSlot(AVLVetor<?, ?> arvore, int r, List<Object> itens) {
+        if (r == NULO)
+            return new int[]{-1, 0};
+
+        int[] esq = (int[]) campo(arvore, "esq");
+        int[] dir = (int[]) campo(arvore, "dir");
+
+        int[] e = verificarSlot(arvore, esq[r], itens);
+        itens.add(((Object[]) campo(arvore, "itens"))[r]);
+        int[] d = verificarSlot(arvore, dir[r], itens);
+
+        int h = Math.max(e[0], d[0]) + 1;
+        int tamanho = e[1] + d[1] + 1;
+
+        assertTrue(Math.abs(e[0] - d[0]) <= 1, "desbalanceada");
+        assertEquals(h, ((int[]) campo(arvore, "h"))[r], "altura");
+        assertEquals(tamanho, ((int[]) campo(arvore, "tam"))[r], "tamanho");
+
+        return new int[]{h, tamanho};
+    }
+
+    static Object campo(Object o, String nome) {
+        try {
+            Field f = o.getClass().getDeclaredField(nome);
+            f.setAccessible(true);
+            return f.get(o);
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package arvbin;
+
+import iterador.Iterador;
+import lista.LSE;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Todas as árvores montam o menor caminho com a mesma descida
+ * (ABBBase.menorCaminho); aqui ele é conferido, em cada uma, contra o
+ * caminho que se deduz do codigo dos itens. Na AVL também as sobrecargas
+ * com Visitante e ILista e o codigoCompactado.
+ */
+class MenorCaminhoTest {
+
+    @Test
+    void arvoresDeObjetos() {
+        List<Supplier<IABB<Integer, Integer>>> arvores = List.of(
+                () -> FabricaABB.criar(FabricaABB.Tipo.AVL),
+                () -> FabricaABB.criar(FabricaABB.Tipo.RUBRO_NEGRA),
+                () -> FabricaABB.criar(FabricaABB.Tipo.BALANCEADA_POR_PESO),
+                AVLVetor::new,
+                AVLConcorrente::new,
+                AVLOtimista::new);
+
+        for (Supplier<IABB<Integer, Integer>> fabrica : arvores) {
+            Random random = new Random(11);
+            IABB<Integer, Integer> arvore = fabrica.get();
+            for (int i = 0; i < 300; i++)
+                arvore.inserir(random.nextInt(1_000));
+
+            conferir(arvore, random, -1);
+        }
+    }
+
+    @Test
+    void arvoreForaDoHeap() {
+        Random random = new Random(13);
+        AVLForaDoHeap arvore = new AVLForaDoHeap();
+        for (int i = 0; i < 300; i++)
+            arvore.inserir(random.nextLong() >>> 1);
+
+        conferir(arvore, random, -1L);
+    }
+
+    @Test
+    void sobrecargasDaAVL() {
+        Random random = new Random(17);
+        AVL<Integer, Integer> arvore = new AVL<>();
+        for (int i = 0; i < 300; i++)
+            arvore.inserir(random.nextInt(1_000));
+
+        for (int i = 0; i < 500; i++) {
+            int a = random.nextInt(1_050) - 25;
+            int b = random.nextInt(1_050) - 25;
+            List<Integer> esperado = paraLista(arvore.menorCaminho(a, b));
+            boolean existem = arvore.contem(a) && arvore.contem(b);
+
+            List<Integer> visitados = new ArrayList<>();
+            assertEquals(existem, arvore.menorCaminho(a, b, visitados::add));
+            LSE<Integer> destino = new LSE<>();
+            destino.inserirFim(-7);
+            assertEquals(existem, arvore.menorCaminho(a, b, destino));
+
+            assertEquals(existem, !esperado.isEmpty());
+            assertEquals(esperado, visitados);
+            // o caminho vai para o fim de destino, depois do que já havia nele
+            assertEquals(esperado, paraLista(destino).subList(1, destino.quantidade()));
+        }
+    }
+
+    @Test
+    void codigoCompactado() {
+        Random random = new Random(23);
+        AVL<Integer, Integer> arvore = new AVL<>();
+        assertEquals(-1, arvore.codigoCompactado(1));
+
+        for (int i = 0; i < 2_000; i++)
+            arvore.inserir(random.nextInt(10_000));
+
+        for (int x = -5; x < 10_005; x++) {
+            String codigo = arvore.codigo(x);
+            long compactado = arvore.codigoCompactado(x);
+
+            if (codigo == null)
+                assertEquals(-1, compactado, "item " + x);
+            else {
+                // o bit 1 mais alto só marca o início
+                assertEquals(codigo.length(), 63 - Long.numberOfLeadingZeros(compactado), "item " + x);
+                assertEquals("1" + codigo, Long.toBinaryString(compactado), "item " + x);
+            }
+        }
+
+        // a raiz tem o código vazio: só o marcador
+        Integer raiz = (Integer) Invariantes.campo(Invariantes.campo(arvore, "raiz"), "item");
+        assertEquals("", arvore.codigo(raiz));
+        assertEquals(1, arvore.codigoCompactado(raiz));
+    }
+
+    @Test
+    void arvoreVazia() {
+        assertTrue(new AVLVetor<Integer, Integer>().menorCaminho(1, 1).estaVazia());
+        assertTrue(new AVLConcorrente<Integer, Integer>().menorCaminho(1, 1).estaVazia());
+        assertTrue(new AVLOtimista<Integer, Integer>().menorCaminho(1, 1).estaVazia());
+        assertTrue(new AVLForaDoHeap().menorCaminho(1L, 1L).estaVazia());
+        assertTrue(FabricaABB.<Integer, Integer>criar(FabricaABB.Tipo.RUBRO_NEGRA).menorCaminho(1, 1).estaVazia());
+    }
+
+    /**
+     * Compara o menorCaminho de pares sorteados de itens com o deduzido dos
+     * codigos e confere que um extremo ausente dá lista vazia.
+     */
+    private static <T> void conferir(IABB<T, T> arvore, Random random, T ausente) {
+        String nome = arvore.getClass().getSimpleName();
+        List<T> itens = new ArrayList<>();
+        arvore.emOrdem(itens::add);
+
+        for (int i = 0; i < 200; i++) {
+            T a = itens.get(random.nextInt(itens.size()));
+            T b = itens.get(random.nextInt(itens.size()));
+
+            assertEquals(caminhoPelosCodigos(arvore, itens, a, b), paraLista(arvore.menorCaminho(a, b)), nome + ": " + a + " -> " + b);
+        }
+
+        assertTrue(arvore.menorCaminho(itens.get(0), ausente).estaVazia(), nome);
+        assertTrue(arvore.menorCaminho(ausente, itens.get(0)).estaVazia(), nome);
+    }
+
+    /**
+     * O codigo de um item é o caminho da raiz até ele: os itens do menor
+     * caminho são os que têm codigo prefixo do de a ou do de b e não mais
+     * curto que o do LCA (o maior prefixo comum).
+     */
+    private static <T> List<T> caminhoPelosCodigos(IABB<T, T> arvore, List<T> itens, T a, T b) {
+        String codigoA = arvore.codigo(a);
+        String codigoB = arvore.codigo(b);
+        int comum = 0;
+        while (comum < codigoA.length() && comum < codigoB.length() && codigoA.charAt(comum) == codigoB.charAt(comum))
+            comum++;
+
+        List<T> ladoA = new ArrayList<>();
+        List<T> ladoB = new ArrayList<>();
+        for (int i = 0; i <= codigoA.length(); i++)
+            ladoA.add(null);
+        for (int i = 0; i <= codigoB.length(); i++)
+            ladoB.add(null);
+
+        for (T x : itens) {
+            String codigo = arvore.codigo(x);
+            if (codigoA.startsWith(codigo))
+                ladoA.set(codigo.length(), x);
+            if (codigoB.startsWith(codigo))
+                ladoB.set(codigo.length(), x);
+        }
+
+        List<T> caminho = new ArrayList<>();
+        for (int i = codigoA.length(); i >= comum; i--)
+            caminho.add(ladoA.get(i));
+        for (int i = comum + 1; i <= codigoB.length(); i++)
+            caminho.add(ladoB.get(i));
+
+        return caminho;
+    }
+
+    private static <T> List<T> paraLista(LSE<T> lista) {
+        List<T> itens = new ArrayList<>();
+        for (Iterador<T> it = lista.iterador(); it.temProximo(); )
+            itens.add(it.proximo());
+
+        return itens;
+    }
+}
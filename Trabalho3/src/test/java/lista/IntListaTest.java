@@ -0,0 +1,145 @@
+package lista;
+
+import iterador.IteradorInt;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A IntLista deve se comportar como uma lista de Integer, trocando os
+ * retornos null por exceções.
+ */
+class IntListaTest {
+
+    @Test
+    void aleatoriaContraArrayList() {
+        IntLista lista = new IntLista(0);
+        List<Integer> esperado = new ArrayList<>();
+        Random rnd = new Random(3);
+
+        for (int passo = 0; passo < 5000; passo++) {
+            int n = esperado.size();
+            int v = rnd.nextInt(20);
+            int p = rnd.nextInt(n + 1);
+
+            switch (n < 30 ? rnd.nextInt(4) : rnd.nextInt(9)) {
+                case 0:
+                    assertTrue(lista.inserirPosicao(p, v));
+                    esperado.add(p, v);
+                    break;
+                case 1:
+                    assertTrue(lista.inserirFim(v));
+                    esperado.add(v);
+                    break;
+                case 2:
+                    assertTrue(lista.inserirInicio(v));
+                    esperado.add(0, v);
+                    break;
+                case 3:
+                    int[] novos = {v, v + 1, v + 2};
+                    assertTrue(lista.inserirTodos(novos));
+                    for (int e : novos)
+                        esperado.add(e);
+                    break;
+                case 4:
+                    assertEquals(esperado.remove(n - 1), lista.removerFim());
+                    break;
+                case 5:
+                    assertEquals(esperado.remove(0), lista.removerInicio());
+                    break;
+                case 6:
+                    p = rnd.nextInt(n);
+                    assertEquals(esperado.remove(p), lista.removerPosicao(p));
+                    break;
+                case 7:
+                    assertEquals(esperado.remove((Integer) v), lista.remover(v));
+                    break;
+                default:
+                    p = rnd.nextInt(n);
+                    assertEquals(esperado.set(p, v), lista.alterar(p, v));
+            }
+
+            assertEquals(esperado.size(), lista.quantidade());
+            assertEquals(esperado.indexOf(v), lista.posicao(v));
+            assertEquals(esperado.contains(v), lista.contem(v));
+            if (passo % 50 == 0)
+                comparar(esperado, lista);
+        }
+
+        comparar(esperado, lista);
+    }
+
+    @Test
+    void paraArrayEAdicionarLista() {
+        IntLista lista = new IntLista(0);
+        assertArrayEquals(new int[0], lista.paraArray());
+        assertTrue(lista.adicionarLista(lista));
+        assertTrue(lista.estaVazia());
+
+        assertTrue(lista.inserirTodos(new int[]{1, 2, 3}));
+        int[] copia = lista.paraArray();
+        assertArrayEquals(new int[]{1, 2, 3}, copia);
+
+        // o vetor devolvido é uma cópia
+        copia[0] = 9;
+        assertEquals(1, lista.getItem(0));
+
+        assertTrue(lista.adicionarLista(lista));
+        assertArrayEquals(new int[]{1, 2, 3, 1, 2, 3}, lista.paraArray());
+
+        IntLista outra = new IntLista();
+        outra.inserirFim(4);
+        assertTrue(lista.adicionarLista(outra));
+        assertArrayEquals(new int[]{1, 2, 3, 1, 2, 3, 4}, lista.paraArray());
+        assertEquals("[1, 2, 3, 1, 2, 3, 4]", lista.toString());
+
+        lista.removerTodos();
+        assertArrayEquals(new int[0], lista.paraArray());
+        assertEquals("[]", lista.toString());
+    }
+
+    @Test
+    void posicoesInvalidasEListaVazia() {
+        IntLista lista = new IntLista();
+
+        assertThrows(NoSuchElementException.class, lista::removerInicio);
+        assertThrows(NoSuchElementException.class, lista::removerFim);
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.getItem(0));
+        assertFalse(lista.inserirPosicao(1, 5));
+        assertFalse(lista.remover(5));
+
+        lista.inserirFim(5);
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.getItem(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.alterar(1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.removerPosicao(1));
+        assertFalse(lista.inserirPosicao(2, 5));
+        assertThrows(IllegalArgumentException.class, () -> new IntLista(-1));
+    }
+
+    private static void comparar(List<Integer> esperado, IntLista lista) {
+        int[] vetor = new int[esperado.size()];
+        for (int i = 0; i < vetor.length; i++)
+            vetor[i] = esperado.get(i);
+        assertArrayEquals(vetor, lista.paraArray());
+
+        IteradorInt it = lista.iterador();
+        for (int e : vetor) {
+            assertTrue(it.temProximo());
+            assertEquals(e, it.proximoInt());
+        }
+        assertFalse(it.temProximo());
+
+        for (int p = 0; p < vetor.length; p++)
+            assertEquals(vetor[p], lista.getItem(p));
+        assertEquals(esperado.toString(), lista.toString());
+    }
+}
@@ -0,0 +1,146 @@
+package lista;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static lista.Listas.campo;
+import static lista.Listas.paraLista;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O tail e o cursor da LSE precisam continuar certos quando as remoções e
+ * inserções no meio se misturam com a leitura sequencial por getItem.
+ */
+class LSETest {
+
+    @Test
+    void remocoesEInsercoesEntreLeiturasSequenciais() {
+        LSE<Integer> lista = new LSE<>();
+        List<Integer> esperado = new ArrayList<>();
+        Random rnd = new Random(11);
+        for (int i = 0; i < 50; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+
+        for (int passo = 0; passo < 3000; passo++) {
+            int n = esperado.size();
+
+            // lê um trecho em ordem: deixa o cursor no meio da lista
+            int de = rnd.nextInt(n + 1);
+            for (int i = de; i < Math.min(n, de + 10); i++)
+                assertEquals(esperado.get(i), lista.getItem(i));
+
+            int p = rnd.nextInt(n + 1);
+            int v = rnd.nextInt(1000);
+            switch (n < 20 ? rnd.nextInt(2) : rnd.nextInt(6)) {
+                case 0:
+                    assertTrue(lista.inserirPosicao(p, v));
+                    esperado.add(p, v);
+                    break;
+                case 1:
+                    assertTrue(lista.inserirFim(v));
+                    esperado.add(v);
+                    break;
+                case 2:
+                    assertEquals(esperado.remove(n - 1), lista.removerFim());
+                    break;
+                case 3:
+                case 4:
+                    assertEquals(p < n ? esperado.remove(p) : null, lista.removerPosicao(p));
+                    break;
+                default:
+                    assertEquals(esperado.remove(0), lista.removerInicio());
+            }
+
+            verificar(lista, esperado);
+        }
+    }
+
+    @Test
+    void cursorNoNoRemovido() {
+        LSE<Integer> lista = new LSE<>();
+        lista.inserirTodos(new Integer[]{0, 1, 2, 3, 4, 5});
+
+        // cursor no último nó lido por posição; removerFim o apaga
+        assertEquals(4, lista.getItem(4));
+        assertEquals(5, lista.removerFim());
+        assertEquals(4, lista.removerFim());
+        assertEquals(3, lista.getItem(3));
+        verificar(lista, List.of(0, 1, 2, 3));
+
+        // remove o nó do cursor pelo meio
+        assertEquals(2, lista.getItem(2));
+        assertEquals(2, lista.removerPosicao(2));
+        assertEquals(3, lista.getItem(2));
+        verificar(lista, List.of(0, 1, 3));
+
+        // inserir antes do cursor o desloca
+        assertEquals(3, lista.getItem(2));
+        assertTrue(lista.inserirPosicao(1, 9));
+        assertEquals(3, lista.getItem(3));
+        verificar(lista, List.of(0, 9, 1, 3));
+
+        while (!lista.estaVazia())
+            lista.removerFim();
+        assertNull(lista.getItem(0));
+        assertNull(lista.removerFim());
+        verificar(lista, List.of());
+
+        assertTrue(lista.inserirFim(7));
+        verificar(lista, List.of(7));
+    }
+
+    @Test
+    void adicionarAPropriaLista() {
+        LSE<Integer> lista = new LSE<>();
+        assertTrue(lista.adicionarLista(lista));
+        verificar(lista, List.of());
+
+        lista.inserirTodos(new Integer[]{1, 2, 3});
+        assertEquals(2, lista.getItem(1));
+        assertTrue(lista.adicionarLista(lista));
+        verificar(lista, List.of(1, 2, 3, 1, 2, 3));
+
+        assertTrue(lista.adicionarLista(lista));
+        verificar(lista, List.of(1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 2, 3));
+        assertEquals(3, lista.removerFim());
+        assertTrue(lista.inserirPosicao(11, 4));
+        verificar(lista, List.of(1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 2, 4));
+    }
+
+    /**
+     * Compara com o esperado pelo iterador e por getItem em ordem, e confere
+     * o tail e o cursor pelos campos privados: o cursor, se houver, deve
+     * ser um nó da lista com posCursor na sua posição.
+     */
+    private static void verificar(LSE<Integer> lista, List<Integer> esperado) {
+        assertEquals(esperado.size(), lista.quantidade());
+        assertEquals(esperado, paraLista(lista));
+        assertEquals(esperado.toString(), lista.toString());
+
+        Object ultimo = null;
+        Object cursor = campo(lista, "cursor");
+        boolean achouCursor = cursor == null;
+        int p = 0;
+        for (Object no = campo(lista, "head"); no != null; no = campo(no, "prox")) {
+            if (no == cursor) {
+                assertEquals(p, (int) campo(lista, "posCursor"), "posCursor");
+                achouCursor = true;
+            }
+            ultimo = no;
+            p++;
+        }
+        assertSame(ultimo, campo(lista, "tail"));
+        assertTrue(achouCursor, "cursor fora da lista");
+
+        for (int i = 0; i < esperado.size(); i++)
+            assertEquals(esperado.get(i), lista.getItem(i));
+    }
+}
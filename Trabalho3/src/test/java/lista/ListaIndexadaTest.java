@@ -0,0 +1,137 @@
+package lista;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static lista.Listas.campo;
+import static lista.Listas.paraLista;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Itens repetidos na ListaIndexada: o índice deve guardar os nós de cada
+ * item na ordem da lista, senão posicao e remover(T) acham a ocorrência
+ * errada.
+ */
+class ListaIndexadaTest {
+
+    @Test
+    void repetidosPeloHeadEPeloTail() {
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        List<Integer> esperado = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            lista.inserirFim(i % 2);
+            esperado.add(i % 2);
+        }
+
+        // p < quantidade/2 anda pelo head; o resto, pelo tail
+        int[] posicoes = {3, 9, 1, 12, 6, 7};
+        for (int p : posicoes) {
+            assertTrue(lista.inserirPosicao(p, 0));
+            esperado.add(p, 0);
+            verificarIndice(lista);
+        }
+        for (int p : posicoes) {
+            assertEquals(esperado.set(p, 1), lista.alterar(p, 1));
+            verificarIndice(lista);
+            assertEquals(esperado.set(p + 1, 0), lista.alterar(p + 1, 0));
+            verificarIndice(lista);
+        }
+        // alterar para o mesmo item não muda a ordem no índice
+        assertEquals(esperado.get(2), lista.alterar(2, esperado.get(2)));
+        assertEquals(esperado.get(14), lista.alterar(14, esperado.get(14)));
+        verificarIndice(lista);
+
+        assertEquals(esperado, paraLista(lista));
+
+        // remover(T) tira sempre a primeira ocorrência
+        while (!esperado.isEmpty()) {
+            for (int e = 0; e < 2; e++)
+                assertEquals(esperado.indexOf(e), lista.posicao(e));
+
+            Integer e = esperado.get(esperado.size() / 2);
+            esperado.remove(e);
+            assertEquals(e, lista.remover(e));
+            verificarIndice(lista);
+            assertEquals(esperado, paraLista(lista));
+        }
+
+        assertTrue(lista.estaVazia());
+        assertNull(lista.remover(0));
+        assertEquals(-1, lista.posicao(0));
+    }
+
+    @Test
+    void aleatoriaComPoucosValores() {
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        List<Integer> esperado = new ArrayList<>();
+        Random rnd = new Random(5);
+
+        for (int passo = 0; passo < 5000; passo++) {
+            int n = esperado.size();
+            int v = rnd.nextInt(4);
+            int p = n == 0 ? 0 : rnd.nextInt(n);
+
+            switch (n < 20 ? rnd.nextInt(3) : rnd.nextInt(7)) {
+                case 0:
+                    p = rnd.nextInt(n + 1);
+                    assertTrue(lista.inserirPosicao(p, v));
+                    esperado.add(p, v);
+                    break;
+                case 1:
+                    assertTrue(lista.inserirInicio(v));
+                    esperado.add(0, v);
+                    break;
+                case 2:
+                    assertTrue(lista.inserirFim(v));
+                    esperado.add(v);
+                    break;
+                case 3:
+                    assertEquals(n == 0 ? null : esperado.set(p, v), lista.alterar(p, v));
+                    break;
+                case 4:
+                    assertEquals(n == 0 ? null : esperado.remove(p), lista.removerPosicao(p));
+                    break;
+                case 5:
+                    assertEquals(esperado.remove((Integer) v) ? v : null, lista.remover(v));
+                    break;
+                default:
+                    assertEquals(n == 0 ? null : esperado.get(p), lista.getItem(p));
+                    assertEquals(esperado.contains(v), lista.contem(v));
+            }
+
+            assertEquals(esperado.size(), lista.quantidade());
+            assertEquals(esperado.indexOf(v), lista.posicao(v), "passo " + passo);
+            verificarIndice(lista);
+        }
+
+        assertEquals(esperado, paraLista(lista));
+    }
+
+    /**
+     * Confere que o índice tem, para cada item, exatamente os nós que o
+     * guardam e na ordem em que aparecem na lista.
+     */
+    @SuppressWarnings("unchecked")
+    private static void verificarIndice(ListaIndexada<?> lista) {
+        Map<Object, List<Object>> esperado = new HashMap<>();
+        for (Object no = campo(lista, "head"); no != null; no = campo(no, "prox"))
+            esperado.computeIfAbsent(campo(no, "item"), k -> new ArrayList<>()).add(no);
+
+        Map<Object, List<Object>> indice = (Map<Object, List<Object>>) campo(lista, "indice");
+        assertEquals(esperado.keySet(), indice.keySet());
+        for (Map.Entry<Object, List<Object>> entrada : esperado.entrySet()) {
+            List<Object> nos = indice.get(entrada.getKey());
+            assertEquals(entrada.getValue().size(), nos.size(), "item " + entrada.getKey());
+            for (int i = 0; i < nos.size(); i++)
+                assertSame(entrada.getValue().get(i), nos.get(i), "item " + entrada.getKey());
+        }
+    }
+}
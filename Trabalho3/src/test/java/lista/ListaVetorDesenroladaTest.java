@@ -0,0 +1,318 @@
+package lista;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static lista.Listas.campo;
+import static lista.Listas.paraLista;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara a ListaVetor e a ListaDesenrolada com uma ArrayList sob a mesma
+ * sequência aleatória de operações e confere, pelos campos privados, os
+ * blocos e o cursor da ListaDesenrolada e o vetor circular da ListaVetor.
+ */
+class ListaVetorDesenroladaTest {
+    private static final int CAPACIDADE = 16;
+
+    @Test
+    void aleatoriaContraArrayList() {
+        List<Supplier<ILista<Integer>>> fabricas = List.of(
+                ListaVetor::new,
+                () -> new ListaVetor<>(0),
+                () -> new ListaVetor<>(1, 2.0),
+                ListaDesenrolada::new);
+
+        for (int f = 0; f < fabricas.size(); f++) {
+            ILista<Integer> lista = fabricas.get(f).get();
+            List<Integer> esperado = new ArrayList<>();
+            Random rnd = new Random(31 + f);
+
+            for (int passo = 0; passo < 20000; passo++) {
+                operar(lista, esperado, rnd);
+
+                String msg = lista.getClass().getSimpleName() + " #" + f + ", passo " + passo;
+                assertEquals(esperado.size(), lista.quantidade(), msg);
+                assertEquals(esperado.isEmpty(), lista.estaVazia(), msg);
+                if (lista instanceof ListaDesenrolada)
+                    verificarBlocos((ListaDesenrolada<?>) lista);
+                if (passo % 97 == 0)
+                    assertEquals(esperado, paraLista(lista), msg);
+            }
+
+            assertEquals(esperado.toString(), lista.toString());
+        }
+    }
+
+    @Test
+    void blocoCheioDivideAoMeio() {
+        ListaDesenrolada<Integer> lista = new ListaDesenrolada<>();
+        List<Integer> esperado = new ArrayList<>();
+        for (int i = 0; i < CAPACIDADE; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+        assertEquals(List.of(CAPACIDADE), tamanhosDosBlocos(lista));
+
+        // cai na metade de baixo: o item fica no bloco original
+        assertTrue(lista.inserirPosicao(5, 100));
+        esperado.add(5, 100);
+        assertEquals(List.of(CAPACIDADE / 2 + 1, CAPACIDADE / 2), tamanhosDosBlocos(lista));
+        verificarBlocos(lista);
+
+        // enche o primeiro bloco de novo e insere na metade de cima
+        for (int i = 0; i < CAPACIDADE / 2 - 1; i++) {
+            lista.inserirPosicao(1, 200 + i);
+            esperado.add(1, 200 + i);
+        }
+        assertEquals(List.of(CAPACIDADE, CAPACIDADE / 2), tamanhosDosBlocos(lista));
+        assertTrue(lista.inserirPosicao(12, 300));
+        esperado.add(12, 300);
+        assertEquals(List.of(CAPACIDADE / 2, CAPACIDADE / 2 + 1, CAPACIDADE / 2), tamanhosDosBlocos(lista));
+        verificarBlocos(lista);
+
+        assertEquals(esperado, paraLista(lista));
+        for (int p = 0; p < esperado.size(); p++)
+            assertEquals(esperado.get(p), lista.getItem(p));
+    }
+
+    @Test
+    void blocosPequenosSeJuntam() {
+        ListaDesenrolada<Integer> lista = new ListaDesenrolada<>();
+        List<Integer> esperado = new ArrayList<>();
+        for (int i = 0; i < 2 * CAPACIDADE; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+
+        // deixa 4 itens no segundo bloco
+        for (int i = 0; i < CAPACIDADE - 4; i++)
+            assertEquals(esperado.remove(esperado.size() - 1), lista.removerFim());
+        assertEquals(List.of(CAPACIDADE, 4), tamanhosDosBlocos(lista));
+
+        // esvazia o primeiro até os dois caberem em meio bloco
+        while (tamanhosDosBlocos(lista).get(0) > CAPACIDADE / 2 - 4 + 1)
+            assertEquals(esperado.remove(3), lista.removerPosicao(3));
+        assertEquals(List.of(CAPACIDADE / 2 - 4 + 1, 4), tamanhosDosBlocos(lista));
+
+        assertEquals(esperado.remove(3), lista.removerPosicao(3));
+        assertEquals(List.of(CAPACIDADE / 2), tamanhosDosBlocos(lista));
+        verificarBlocos(lista);
+        assertEquals(esperado, paraLista(lista));
+
+        // o cursor não pode ficar no bloco absorvido
+        for (int p = esperado.size() - 1; p >= 0; p--)
+            assertEquals(esperado.get(p), lista.getItem(p));
+        verificarBlocos(lista);
+    }
+
+    @Test
+    void cursorAcompanhaAsPontas() {
+        ListaDesenrolada<Integer> lista = new ListaDesenrolada<>();
+        List<Integer> esperado = new ArrayList<>();
+        for (int i = 0; i < 5 * CAPACIDADE; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+
+        // cursor no meio da lista; as pontas mudam a posição dos blocos depois dele
+        assertEquals(esperado.get(40), lista.getItem(40));
+        for (int i = 0; i < 2 * CAPACIDADE; i++) {
+            lista.inserirInicio(-i);
+            esperado.add(0, -i);
+            verificarBlocos(lista);
+            assertEquals(esperado.get(40 + i), lista.getItem(40 + i));
+        }
+        for (int i = 0; i < 3 * CAPACIDADE; i++) {
+            assertEquals(esperado.remove(0), lista.removerInicio());
+            verificarBlocos(lista);
+            int p = esperado.size() / 2;
+            assertEquals(esperado.get(p), lista.getItem(p));
+        }
+
+        assertEquals(esperado, paraLista(lista));
+    }
+
+    @Test
+    void vetorCresceDeCapacidadeZero() {
+        ListaVetor<Integer> lista = new ListaVetor<>(0);
+        assertEquals(0, vetor(lista).length);
+        assertNull(lista.removerInicio());
+        assertNull(lista.removerFim());
+        assertNull(lista.getItem(0));
+        assertTrue(lista.inserirTodos(new Integer[0]));
+
+        assertTrue(lista.inserirPosicao(0, 1));
+        assertTrue(lista.inserirInicio(0));
+        assertTrue(lista.inserirPosicao(2, 3));
+        assertTrue(lista.inserirPosicao(2, 2));
+        assertFalse(lista.inserirPosicao(5, 9));
+
+        assertEquals(List.of(0, 1, 2, 3), paraLista(lista));
+        assertTrue(vetor(lista).length >= 4);
+
+        lista.removerTodos();
+        assertTrue(lista.estaVazia());
+        assertTrue(lista.inserirFim(7));
+        assertEquals(List.of(7), paraLista(lista));
+    }
+
+    @Test
+    void vetorCircularDeslocaOLadoMaisCurto() {
+        ListaVetor<Integer> lista = new ListaVetor<>(8, 2.0);
+        List<Integer> esperado = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+        for (int i = 0; i < 4; i++)
+            assertEquals(esperado.remove(0), lista.removerInicio());
+        // os itens dão a volta no fim do vetor
+        for (int i = 6; i < 10; i++) {
+            lista.inserirFim(i);
+            esperado.add(i);
+        }
+        assertEquals(4, (int) campo(lista, "inicio"));
+
+        // inserir e remover dos dois lados, sem trocar o vetor
+        int[][] operacoes = {{1, 1}, {5, 1}, {0, 0}, {3, 0}, {6, 1}, {2, 1}, {7, 0}, {1, 0}};
+        for (int[] op : operacoes) {
+            int p = op[0];
+            if (op[1] == 1) {
+                assertTrue(lista.inserirPosicao(p, 100 + p));
+                esperado.add(p, 100 + p);
+            }
+            else
+                assertEquals(esperado.remove(p), lista.removerPosicao(p));
+
+            assertEquals(esperado, paraLista(lista), "op " + p + "/" + op[1]);
+            assertEquals(8, vetor(lista).length);
+        }
+
+        // vazios fora dos itens: nada fica preso no vetor
+        Object[] itens = vetor(lista);
+        int inicio = (int) campo(lista, "inicio");
+        for (int i = esperado.size(); i < itens.length; i++)
+            assertNull(itens[(inicio + i) % itens.length], "indice " + i);
+    }
+
+    private static void operar(ILista<Integer> lista, List<Integer> esperado, Random rnd) {
+        int n = esperado.size();
+        // tende a crescer até ~300 itens e depois oscila
+        boolean crescer = n < 40 || rnd.nextInt(n) < 150;
+        int v = rnd.nextInt(50);
+        int p = rnd.nextInt(n + 3) - 1;
+
+        switch (crescer ? rnd.nextInt(5) : 5 + rnd.nextInt(7)) {
+            case 0:
+                assertTrue(lista.inserirInicio(v));
+                esperado.add(0, v);
+                break;
+            case 1:
+                assertTrue(lista.inserirFim(v));
+                esperado.add(v);
+                break;
+            case 2:
+            case 3:
+                boolean valida = p >= 0 && p <= n;
+                assertEquals(valida, lista.inserirPosicao(p, v));
+                if (valida)
+                    esperado.add(p, v);
+                break;
+            case 4:
+                if (rnd.nextInt(10) == 0) {
+                    ListaVetor<Integer> outra = new ListaVetor<>();
+                    for (int i = rnd.nextInt(5); i > 0; i--)
+                        outra.inserirFim(rnd.nextInt(50));
+                    assertTrue(lista.adicionarLista(outra));
+                    esperado.addAll(paraLista(outra));
+                }
+                else {
+                    Integer[] novos = {v, v + 1, v + 2};
+                    assertTrue(lista.inserirTodos(novos));
+                    esperado.addAll(List.of(novos));
+                }
+                break;
+            case 5:
+                assertEquals(n == 0 ? null : esperado.remove(0), lista.removerInicio());
+                break;
+            case 6:
+                assertEquals(n == 0 ? null : esperado.remove(n - 1), lista.removerFim());
+                break;
+            case 7:
+            case 8:
+                assertEquals(p >= 0 && p < n ? esperado.remove(p) : null, lista.removerPosicao(p));
+                break;
+            case 9:
+                Integer removido = esperado.remove((Integer) v) ? v : null;
+                assertEquals(removido, lista.remover(v));
+                break;
+            case 10:
+                assertEquals(p >= 0 && p < n ? esperado.set(p, v) : null, lista.alterar(p, v));
+                break;
+            default:
+                // leitura sequencial a partir de p, como um laço com getItem
+                for (int i = Math.max(p, 0); i < Math.min(n, p + 20); i++)
+                    assertEquals(esperado.get(i), lista.getItem(i));
+                assertNull(lista.getItem(n));
+                assertEquals(esperado.indexOf(v), lista.posicao(v));
+                assertEquals(esperado.contains(v), lista.contem(v));
+        }
+    }
+
+    /**
+     * Confere os blocos da ListaDesenrolada: encadeamento nos dois sentidos,
+     * tamanhos entre 1 e CAPACIDADE, posições livres nulas, a soma dos
+     * tamanhos e, se houver cursor, que ele está na lista e posCursor é a
+     * posição do seu primeiro item.
+     */
+    private static void verificarBlocos(ListaDesenrolada<?> lista) {
+        Object head = campo(lista, "head");
+        Object cursor = campo(lista, "cursor");
+        Object ant = null;
+        int total = 0;
+        boolean achouCursor = cursor == null;
+
+        for (Object b = head; b != null; b = campo(b, "prox")) {
+            assertSame(ant, campo(b, "ant"));
+
+            int qtd = (int) campo(b, "qtd");
+            assertTrue(qtd >= 1 && qtd <= CAPACIDADE, "bloco com " + qtd + " itens");
+            Object[] itens = (Object[]) campo(b, "itens");
+            for (int i = qtd; i < itens.length; i++)
+                assertNull(itens[i]);
+
+            if (b == cursor) {
+                assertEquals(total, (int) campo(lista, "posCursor"), "posCursor");
+                achouCursor = true;
+            }
+
+            total += qtd;
+            ant = b;
+        }
+
+        assertSame(ant, campo(lista, "tail"));
+        assertEquals(total, lista.quantidade());
+        assertTrue(achouCursor, "cursor fora da lista");
+    }
+
+    private static List<Integer> tamanhosDosBlocos(ListaDesenrolada<?> lista) {
+        List<Integer> tamanhos = new ArrayList<>();
+        for (Object b = campo(lista, "head"); b != null; b = campo(b, "prox"))
+            tamanhos.add((int) campo(b, "qtd"));
+
+        return tamanhos;
+    }
+
+    private static Object[] vetor(ListaVetor<?> lista) {
+        return (Object[]) campo(lista, "itens");
+    }
+}
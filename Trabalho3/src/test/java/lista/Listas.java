@@ -0,0 +1,37 @@
+package lista;
+
+import iterador.Iterador;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilitários dos testes de lista: os itens pelo iterador e a leitura dos
+ * campos privados.
+ */
+final class Listas {
+
+    private Listas() {
+    }
+
+    static List<Integer> paraLista(ILista<Integer> lista) {
+        List<Integer> itens = new ArrayList<>();
+        Iterador<Integer> it = lista.iterador();
+        while (it.temProximo())
+            itens.add(it.proximo());
+
+        return itens;
+    }
+
+    static Object campo(Object o, String nome) {
+        try {
+            Field f = o.getClass().getDeclaredField(nome);
+            f.setAccessible(true);
+            return f.get(o);
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}